@@ -0,0 +1,94 @@
+package com.github.marcelldechant.bistro.benchmark;
+
+import com.github.marcelldechant.bistro.order.dto.CreateOrderDto;
+import com.github.marcelldechant.bistro.order.entity.Order;
+import com.github.marcelldechant.bistro.order.mapper.OrderMapper;
+import com.github.marcelldechant.bistro.order.pricing.DiscountRule;
+import com.github.marcelldechant.bistro.order.pricing.Money;
+import com.github.marcelldechant.bistro.order.pricing.PricingEngine;
+import com.github.marcelldechant.bistro.order.pricing.PricingProperties;
+import com.github.marcelldechant.bistro.orderitem.dto.CreateOrderItemDto;
+import com.github.marcelldechant.bistro.orderitem.entity.OrderItem;
+import com.github.marcelldechant.bistro.orderitem.mapper.OrderItemMapper;
+import com.github.marcelldechant.bistro.product.entity.Product;
+import lombok.Getter;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * Shared fixture for all benchmarks: a catalog of `catalogSize` products and one order of `orderSize` distinct
+ * products drawn from it at random, so larger catalogs spread the order over more memory.
+ */
+@Getter
+@State(Scope.Benchmark)
+public class BenchmarkState {
+    private static final long SEED = 42L;
+
+    @Param({"1", "10", "50"})
+    private int orderSize;
+
+    @Param({"100", "10000"})
+    private int catalogSize;
+
+    private List<Product> catalog;
+    private List<String[]> csvLines;
+    private CreateOrderDto createOrderDto;
+    private List<CreateOrderItemDto> itemDtos;
+    private List<Product> orderProducts;
+    private List<OrderItem> items;
+    private Order order;
+    private PricingEngine pricingEngine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(SEED);
+
+        catalog = new ArrayList<>(catalogSize);
+        csvLines = new ArrayList<>(catalogSize);
+        for (long id = 1; id <= catalogSize; id++) {
+            BigDecimal price = BigDecimal.valueOf(50 + random.nextInt(5_000), 2);
+            Product product = new Product(id, "Product " + id, price);
+            catalog.add(product);
+            csvLines.add(new String[]{" " + product.getName() + " ", price.toPlainString().replace('.', ',')});
+        }
+
+        int size = Math.min(orderSize, catalogSize);
+        List<Product> shuffled = new ArrayList<>(catalog);
+        Collections.shuffle(shuffled, random);
+        orderProducts = List.copyOf(shuffled.subList(0, size));
+
+        itemDtos = new ArrayList<>(size);
+        for (Product product : orderProducts) {
+            itemDtos.add(new CreateOrderItemDto(product.getId(), 1 + random.nextInt(5)));
+        }
+        createOrderDto = new CreateOrderDto(7, List.copyOf(itemDtos));
+
+        pricingEngine = new PricingEngine(new PricingProperties(List.of(
+                new DiscountRule("Happy Hour", LocalTime.of(17, 0), LocalTime.of(19, 0), null,
+                        new BigDecimal("0.10"), null)
+        )));
+
+        items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            OrderItem item = OrderItemMapper.toEntity(itemDtos.get(i), orderProducts.get(i));
+            item.setId((long) i + 1);
+            items.add(item);
+        }
+        Money subtotal = items.stream().map(OrderItem::getTotalPrice).reduce(Money.ZERO, Money::plus);
+        Money discount = subtotal.percentage(1000);
+        order = OrderMapper.toEntity(7, items, subtotal, discount, subtotal.minus(discount), true,
+                Instant.parse("2025-07-27T17:30:00Z"));
+        order.setId(1L);
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.marcelldechant.bistro.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.marcelldechant.bistro.BistroApplication;
+import com.github.marcelldechant.bistro.product.integration.CsvFileImportedEvent;
+import com.github.marcelldechant.bistro.product.repository.ProductRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Measures how long the application takes until the whole catalog is available, once on an empty file database
+ * (cold: the CSV file is imported) and then on the database the first run left behind (warm: the unchanged file is
+ * skipped). Both runs use the persistent profile. Results are printed and written as JSON.
+ *
+ * Settings (system properties): startuptest.products, startuptest.result.
+ */
+public class PersistentStartupTest {
+    private static final int PRODUCTS = Integer.getInteger("startuptest.products", 100_000);
+    private static final String RESULT_FILE = System.getProperty("startuptest.result", "target/startup-result.json");
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(5);
+    private static final Duration TIMEOUT = Duration.ofMinutes(10);
+
+    public static void main(String[] args) throws Exception {
+        Path workDirectory = Files.createTempDirectory("bistro-startup");
+        try {
+            Path inputDirectory = Files.createDirectories(workDirectory.resolve("input"));
+            writeCatalog(inputDirectory.resolve("products.csv"));
+
+            Map<String, Result> results = new LinkedHashMap<>();
+            results.put("cold", run(workDirectory, inputDirectory));
+            results.put("warm", run(workDirectory, inputDirectory));
+            results.forEach((name, result) -> System.out.printf(
+                    "%-4s start: context %,7d ms  catalog available after %,7d ms  imported files %d%n",
+                    name, result.contextMillis(), result.catalogMillis(), result.importedFiles()));
+
+            new ObjectMapper()
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(new File(RESULT_FILE), Map.of("products", PRODUCTS, "results", results));
+            System.out.println("Startup test result is saved to " + new File(RESULT_FILE).getAbsolutePath());
+        } finally {
+            FileSystemUtils.deleteRecursively(workDirectory);
+        }
+    }
+
+    private static Result run(Path workDirectory, Path inputDirectory) throws Exception {
+        CopyOnWriteArrayList<CsvFileImportedEvent> imports = new CopyOnWriteArrayList<>();
+        SpringApplication application = new SpringApplication(BistroApplication.class);
+        application.addListeners((ApplicationListener<ApplicationEvent>) event -> {
+            if (event instanceof PayloadApplicationEvent<?> payload
+                    && payload.getPayload() instanceof CsvFileImportedEvent imported) {
+                imports.add(imported);
+            }
+        });
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = application.run(
+                "--server.port=0",
+                "--spring.profiles.active=persistent",
+                "--H2_DATABASE_DIR=" + workDirectory.resolve("db"),
+                "--csv.input-directory=" + inputDirectory,
+                "--logging.level.root=WARN")) {
+            long contextMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            ProductRepository productRepository = context.getBean(ProductRepository.class);
+            long deadline = start + TIMEOUT.toNanos();
+            while (productRepository.count() < PRODUCTS) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Catalog was not imported within " + TIMEOUT);
+                }
+                Thread.sleep(10);
+            }
+            long catalogMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            /*
+             * Lets the poller scan the directory at least once more, so the warm run shows the file was skipped.
+             */
+            Thread.sleep(POLL_INTERVAL.toMillis());
+            return new Result(contextMillis, catalogMillis, imports.size());
+        }
+    }
+
+    private static void writeCatalog(Path file) throws IOException {
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("name,price\n");
+            for (int i = 1; i <= PRODUCTS; i++) {
+                writer.write("Product " + i + "," + (1 + random.nextInt(99)) + "." + (10 + random.nextInt(90)) + "\n");
+            }
+        }
+    }
+
+    record Result(long contextMillis, long catalogMillis, int importedFiles) {
+    }
+}
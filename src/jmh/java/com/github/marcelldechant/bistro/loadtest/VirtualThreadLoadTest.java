@@ -0,0 +1,195 @@
+package com.github.marcelldechant.bistro.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.marcelldechant.bistro.BistroApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Boots the application once with platform threads and once with virtual threads and drives the same closed-loop
+ * workload (create an order, read it back, render its receipt) against both. Each client runs on its own virtual
+ * thread so the load generator itself never becomes the bottleneck. Results are printed and written as JSON.
+ *
+ * Settings (system properties): loadtest.clients, loadtest.warmup, loadtest.duration, loadtest.result.
+ */
+public class VirtualThreadLoadTest {
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 400);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("loadtest.warmup", "PT5S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("loadtest.duration", "PT20S"));
+    private static final String RESULT_FILE = System.getProperty("loadtest.result", "target/loadtest-result.json");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String ORDER_JSON = """
+            {"tableNumber": 4, "items": [{"productId": 1, "quantity": 2}, {"productId": 2, "quantity": 1}]}""";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            Result result = run(virtualThreads);
+            results.put(virtualThreads ? "virtual" : "platform", result);
+            System.out.printf("%-8s threads: %,10.1f req/s  p50 %7.2f ms  p99 %7.2f ms  errors %d%n",
+                    virtualThreads ? "virtual" : "platform",
+                    result.throughput(), result.p50Millis(), result.p99Millis(), result.errors());
+        }
+
+        OBJECT_MAPPER.copy()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(new File(RESULT_FILE), Map.of(
+                        "clients", CLIENTS,
+                        "durationSeconds", DURATION.toSeconds(),
+                        "results", results
+                ));
+        System.out.println("Load test result is saved to " + new File(RESULT_FILE).getAbsolutePath());
+    }
+
+    private static Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtualThreads);
+             HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port + "/api/v1";
+            awaitCatalog(client, baseUrl);
+
+            drive(client, baseUrl, WARMUP);
+            return drive(client, baseUrl, DURATION);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return SpringApplication.run(BistroApplication.class,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+    }
+
+    private static void awaitCatalog(HttpClient client, String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/products/2")).GET().build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("CSV import did not finish within 30 seconds");
+            }
+            Thread.sleep(200);
+        }
+    }
+
+    private static Result drive(HttpClient client, String baseUrl, Duration duration) throws Exception {
+        long end = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> clients = new ArrayList<>(CLIENTS);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.add(executor.submit(() -> clientLoop(client, baseUrl, end, errors)));
+            }
+        }
+
+        long[] latencies = clients.stream().map(VirtualThreadLoadTest::join).flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(latencies);
+        return new Result(
+                latencies.length / (double) duration.toSeconds(),
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.99),
+                latencies.length,
+                errors.get()
+        );
+    }
+
+    private static long[] clientLoop(HttpClient client, String baseUrl, long end, AtomicLong errors) {
+        Latencies latencies = new Latencies();
+        HttpRequest create = HttpRequest.newBuilder(URI.create(baseUrl + "/orders"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(ORDER_JSON))
+                .build();
+
+        try {
+            while (System.nanoTime() < end) {
+                HttpResponse<String> created = send(client, create, latencies, errors);
+                if (created == null || created.statusCode() != 201) {
+                    continue;
+                }
+                long id = OBJECT_MAPPER.readTree(created.body()).get("id").asLong();
+                send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/orders/" + id)).GET().build(),
+                        latencies, errors);
+                send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/orders/" + id + "/receipt")).GET().build(),
+                        latencies, errors);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            errors.incrementAndGet();
+        }
+        return latencies.toArray();
+    }
+
+    private static HttpResponse<String> send(HttpClient client, HttpRequest request, Latencies latencies,
+                                             AtomicLong errors) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            latencies.add(System.nanoTime() - start);
+            if (response.statusCode() >= 400) {
+                errors.incrementAndGet();
+            }
+            return response;
+        } catch (IOException e) {
+            errors.incrementAndGet();
+            return null;
+        }
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double percentileMillis(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static final class Latencies {
+        private long[] values = new long[1024];
+        private int count;
+
+        void add(long nanos) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = nanos;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, count);
+        }
+    }
+
+    record Result(double throughput, double p50Millis, double p99Millis, long requests, long errors) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.marcelldechant.bistro.order.pricing;
+
+import com.github.marcelldechant.bistro.benchmark.BenchmarkState;
+import com.github.marcelldechant.bistro.orderitem.dto.CreateOrderItemDto;
+import com.github.marcelldechant.bistro.product.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Prices one order from catalog prices to total, once with the former BigDecimal arithmetic (including the
+ * double based BigDecimal.valueOf(0.10) rate) and once with Money. Run with -prof gc to compare allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+    private static final int HAPPY_HOUR_BASIS_POINTS = 1000;
+
+    @Benchmark
+    public void bigDecimal(BenchmarkState state, Blackhole blackhole) {
+        List<CreateOrderItemDto> itemDtos = state.getItemDtos();
+        List<Product> products = state.getOrderProducts();
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 0; i < itemDtos.size(); i++) {
+            BigDecimal totalPrice = products.get(i).getPrice().multiply(BigDecimal.valueOf(itemDtos.get(i).quantity()));
+            blackhole.consume(totalPrice);
+            subtotal = subtotal.add(totalPrice);
+        }
+        BigDecimal discount = subtotal.multiply(BigDecimal.valueOf(0.10));
+        blackhole.consume(discount);
+        blackhole.consume(subtotal.subtract(discount));
+    }
+
+    @Benchmark
+    public void money(BenchmarkState state, Blackhole blackhole) {
+        List<CreateOrderItemDto> itemDtos = state.getItemDtos();
+        List<Product> products = state.getOrderProducts();
+        Money subtotal = Money.ZERO;
+        for (int i = 0; i < itemDtos.size(); i++) {
+            Money totalPrice = Money.of(products.get(i).getPrice()).times(itemDtos.get(i).quantity());
+            blackhole.consume(totalPrice);
+            subtotal = subtotal.plus(totalPrice);
+        }
+        Money discount = subtotal.percentage(HAPPY_HOUR_BASIS_POINTS);
+        blackhole.consume(discount);
+        blackhole.consume(subtotal.minus(discount));
+    }
+
+    @Benchmark
+    public void moneyAtBoundary(BenchmarkState state, Blackhole blackhole) {
+        List<CreateOrderItemDto> itemDtos = state.getItemDtos();
+        List<Product> products = state.getOrderProducts();
+        Money subtotal = Money.ZERO;
+        for (int i = 0; i < itemDtos.size(); i++) {
+            Money totalPrice = Money.of(products.get(i).getPrice()).times(itemDtos.get(i).quantity());
+            blackhole.consume(totalPrice.toBigDecimal());
+            subtotal = subtotal.plus(totalPrice);
+        }
+        Money discount = subtotal.percentage(HAPPY_HOUR_BASIS_POINTS);
+        blackhole.consume(discount.toBigDecimal());
+        blackhole.consume(subtotal.minus(discount).toBigDecimal());
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.marcelldechant.bistro.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.marcelldechant.bistro.benchmark.BenchmarkState;
+import com.github.marcelldechant.bistro.benchmark.RepositoryStubs;
+import com.github.marcelldechant.bistro.order.dto.OrderResponseDto;
+import com.github.marcelldechant.bistro.order.entity.Order;
+import com.github.marcelldechant.bistro.order.repository.OrderRepository;
+import com.github.marcelldechant.bistro.order.repository.OrderViewRepository;
+import com.github.marcelldechant.bistro.order.stream.OrderEventStream;
+import com.github.marcelldechant.bistro.order.writer.DirectOrderWriter;
+import com.github.marcelldechant.bistro.product.cache.CatalogBodyCache;
+import com.github.marcelldechant.bistro.product.cache.ProductCache;
+import com.github.marcelldechant.bistro.product.entity.Product;
+import com.github.marcelldechant.bistro.product.repository.ProductRepository;
+import com.github.marcelldechant.bistro.product.service.ProductService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderServiceBenchmark {
+    private OrderService orderService;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkState state) {
+        Map<Long, Product> productsById = state.getCatalog().stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        ProductRepository productRepository = RepositoryStubs.stub(ProductRepository.class, Map.of(
+                "findAllById", args -> ((Collection<?>) args[0]).stream().map(productsById::get).toList()
+        ));
+        OrderRepository orderRepository = RepositoryStubs.stub(OrderRepository.class, Map.of(
+                "save", args -> {
+                    Order order = (Order) args[0];
+                    order.setId(1L);
+                    return order;
+                }
+        ));
+
+        OrderViewRepository orderViewRepository = RepositoryStubs.stub(OrderViewRepository.class, Map.of(
+                "save", args -> args[0],
+                "saveAll", args -> args[0]
+        ));
+
+        ProductCache productCache = new ProductCache(state.getCatalogSize(), Duration.ofHours(1));
+        productCache.putAll(state.getCatalog());
+
+        TransactionTemplate transactionTemplate = RepositoryStubs.noTransactions();
+        orderService = new OrderService(
+                orderRepository,
+                new DirectOrderWriter(orderRepository, transactionTemplate),
+                new OrderReadModel(orderViewRepository, orderRepository, new ObjectMapper().findAndRegisterModules(), 500, false),
+                new OrderEventStream(new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(), 64, 256,
+                        OrderEventStream.SlowConsumerPolicy.DISCONNECT, Duration.ofMinutes(30), 1),
+                new ProductService(productRepository, productCache, new CatalogBodyCache(new ObjectMapper())),
+                () -> LocalTime.of(18, 0),
+                state.getPricingEngine(),
+                new SimpleMeterRegistry(),
+                transactionTemplate
+        );
+    }
+
+    @Benchmark
+    public OrderResponseDto createOrder(BenchmarkState state) {
+        return orderService.createOrder(state.getCreateOrderDto());
+    }
+}
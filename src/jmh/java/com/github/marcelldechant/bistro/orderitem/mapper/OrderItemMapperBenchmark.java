@@ -0,0 +1,32 @@
+package com.github.marcelldechant.bistro.orderitem.mapper;
+
+import com.github.marcelldechant.bistro.benchmark.BenchmarkState;
+import com.github.marcelldechant.bistro.orderitem.dto.CreateOrderItemDto;
+import com.github.marcelldechant.bistro.product.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderItemMapperBenchmark {
+    @Benchmark
+    public void toEntity(BenchmarkState state, Blackhole blackhole) {
+        List<CreateOrderItemDto> itemDtos = state.getItemDtos();
+        List<Product> products = state.getOrderProducts();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            blackhole.consume(OrderItemMapper.toEntity(itemDtos.get(i), products.get(i)));
+        }
+    }
+}
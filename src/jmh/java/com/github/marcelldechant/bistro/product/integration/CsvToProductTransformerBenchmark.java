@@ -0,0 +1,38 @@
+package com.github.marcelldechant.bistro.product.integration;
+
+import com.github.marcelldechant.bistro.benchmark.BenchmarkState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CsvToProductTransformerBenchmark {
+    private final CsvToProductTransformer transformer = new CsvToProductTransformer();
+
+    /*
+     * Transforms one order's worth of CSV lines, spread evenly over the catalog.
+     */
+    @Benchmark
+    public void transform(BenchmarkState state, Blackhole blackhole) {
+        List<String[]> lines = state.getCsvLines();
+        int step = Math.max(1, lines.size() / state.getOrderSize());
+        for (int i = 0, n = 0; n < state.getOrderSize() && i < lines.size(); i += step, n++) {
+            blackhole.consume(transformer.transform(lines.get(i)));
+        }
+    }
+}
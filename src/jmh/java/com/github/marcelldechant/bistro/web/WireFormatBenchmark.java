@@ -0,0 +1,89 @@
+package com.github.marcelldechant.bistro.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.marcelldechant.bistro.benchmark.BenchmarkState;
+import com.github.marcelldechant.bistro.order.dto.OrderResponseDto;
+import com.github.marcelldechant.bistro.order.mapper.OrderMapper;
+import com.github.marcelldechant.bistro.product.dto.ProductResponseDto;
+import com.github.marcelldechant.bistro.product.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compares JSON with the binary formats clients can negotiate. Serializing stands for the server, deserializing for
+ * the handheld reading the response. Payload sizes, plain and gzipped, are printed once per trial, as JMH only
+ * reports times.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WireFormatBenchmark {
+    private static final TypeReference<List<ProductResponseDto>> CATALOG_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private OrderResponseDto order;
+    private List<ProductResponseDto> catalog;
+    private byte[] orderBytes;
+    private byte[] catalogBytes;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkState state) throws JsonProcessingException {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        order = OrderMapper.toResponseDto(state.getOrder());
+        catalog = state.getCatalog().stream().map(ProductMapper::toResponseDto).toList();
+        orderBytes = objectMapper.writeValueAsBytes(order);
+        catalogBytes = objectMapper.writeValueAsBytes(catalog);
+
+        System.out.printf("%n%s payload: order %d bytes (%d gzipped), catalog %d bytes (%d gzipped)%n", format,
+                orderBytes.length, ResponseCompression.gzip(orderBytes).length,
+                catalogBytes.length, ResponseCompression.gzip(catalogBytes).length);
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public OrderResponseDto deserializeOrder() throws IOException {
+        return objectMapper.readValue(orderBytes, OrderResponseDto.class);
+    }
+
+    @Benchmark
+    public byte[] serializeCatalog() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(catalog);
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> deserializeCatalog() throws IOException {
+        return objectMapper.readValue(catalogBytes, CATALOG_TYPE);
+    }
+}
@@ -2,93 +2,141 @@ package com.github.marcelldechant.bistro.exception.handler;
 
 import com.github.marcelldechant.bistro.exception.dto.CustomApiErrorResponseDto;
 import com.github.marcelldechant.bistro.order.exception.DuplicateException;
+import com.github.marcelldechant.bistro.order.exception.IdempotencyKeyException;
+import com.github.marcelldechant.bistro.order.exception.IdempotencyKeyMismatchException;
 import com.github.marcelldechant.bistro.order.exception.NoItemsException;
+import com.github.marcelldechant.bistro.order.exception.OrderCommitTimeoutException;
+import com.github.marcelldechant.bistro.order.exception.OrderClosedException;
 import com.github.marcelldechant.bistro.order.exception.OrderNotFoundException;
+import com.github.marcelldechant.bistro.order.exception.OrderQueueFullException;
 import com.github.marcelldechant.bistro.order.exception.QuantityException;
+import com.github.marcelldechant.bistro.product.exception.PaginationException;
+import com.github.marcelldechant.bistro.product.exception.ProductAlreadyExistsException;
 import com.github.marcelldechant.bistro.product.exception.ProductNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public CustomApiErrorResponseDto handleException(Exception e, HttpServletRequest request) {
-
-        return new CustomApiErrorResponseDto(
-                e.getMessage(),
-                request.getRequestURI(),
-                Instant.now(),
-                HttpStatus.INTERNAL_SERVER_ERROR.value()
-        );
-
+        return errorResponse(e, request, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     @Hidden
     @ExceptionHandler(ProductNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public CustomApiErrorResponseDto handleProductNotFoundException(ProductNotFoundException e, HttpServletRequest request) {
-
-        return new CustomApiErrorResponseDto(
-                e.getMessage(),
-                request.getRequestURI(),
-                Instant.now(),
-                HttpStatus.NOT_FOUND.value()
-        );
-
+        return errorResponse(e, request, HttpStatus.NOT_FOUND);
     }
 
     @Hidden
     @ExceptionHandler(OrderNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public CustomApiErrorResponseDto handleOrderNotFoundException(OrderNotFoundException e, HttpServletRequest request) {
-        return new CustomApiErrorResponseDto(
-                e.getMessage(),
-                request.getRequestURI(),
-                Instant.now(),
-                HttpStatus.NOT_FOUND.value()
-        );
+        return errorResponse(e, request, HttpStatus.NOT_FOUND);
     }
 
     @Hidden
     @ExceptionHandler(NoItemsException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public CustomApiErrorResponseDto handleNoItemsException(NoItemsException e, HttpServletRequest request) {
-        return new CustomApiErrorResponseDto(
-                e.getMessage(),
-                request.getRequestURI(),
-                Instant.now(),
-                HttpStatus.BAD_REQUEST.value()
-        );
+        return errorResponse(e, request, HttpStatus.BAD_REQUEST);
     }
 
     @Hidden
     @ExceptionHandler(DuplicateException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public CustomApiErrorResponseDto handleDuplicateException(DuplicateException e, HttpServletRequest request) {
-        return new CustomApiErrorResponseDto(
-                e.getMessage(),
-                request.getRequestURI(),
-                Instant.now(),
-                HttpStatus.CONFLICT.value()
-        );
+        return errorResponse(e, request, HttpStatus.CONFLICT);
+    }
+
+    @Hidden
+    @ExceptionHandler(ProductAlreadyExistsException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public CustomApiErrorResponseDto handleProductAlreadyExistsException(ProductAlreadyExistsException e, HttpServletRequest request) {
+        return errorResponse(e, request, HttpStatus.CONFLICT);
+    }
+
+    @Hidden
+    @ExceptionHandler(OrderClosedException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public CustomApiErrorResponseDto handleOrderClosedException(OrderClosedException e, HttpServletRequest request) {
+        return errorResponse(e, request, HttpStatus.CONFLICT);
     }
 
     @Hidden
     @ExceptionHandler(QuantityException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public CustomApiErrorResponseDto handleQuantityException(QuantityException e, HttpServletRequest request) {
+        return errorResponse(e, request, HttpStatus.BAD_REQUEST);
+    }
+
+    @Hidden
+    @ExceptionHandler(PaginationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public CustomApiErrorResponseDto handlePaginationException(PaginationException e, HttpServletRequest request) {
+        return errorResponse(e, request, HttpStatus.BAD_REQUEST);
+    }
+
+    @Hidden
+    @ExceptionHandler(OrderQueueFullException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public CustomApiErrorResponseDto handleOrderQueueFullException(OrderQueueFullException e, HttpServletRequest request) {
+        return errorResponse(e, request, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Hidden
+    @ExceptionHandler(OrderCommitTimeoutException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public CustomApiErrorResponseDto handleOrderCommitTimeoutException(OrderCommitTimeoutException e, HttpServletRequest request) {
+        return errorResponse(e, request, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Hidden
+    @ExceptionHandler(IdempotencyKeyException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public CustomApiErrorResponseDto handleIdempotencyKeyException(IdempotencyKeyException e, HttpServletRequest request) {
+        return errorResponse(e, request, HttpStatus.BAD_REQUEST);
+    }
+
+    @Hidden
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public CustomApiErrorResponseDto handleIdempotencyKeyMismatchException(IdempotencyKeyMismatchException e, HttpServletRequest request) {
+        return errorResponse(e, request, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    private CustomApiErrorResponseDto errorResponse(Exception e, HttpServletRequest request, HttpStatus status) {
+        String exception = e.getClass().getSimpleName();
+        errorCounters.computeIfAbsent(exception + ":" + status.value(), key -> Counter.builder("bistro.api.errors")
+                        .description("Errors returned by the API, by exception type and status")
+                        .tag("exception", exception)
+                        .tag("status", String.valueOf(status.value()))
+                        .register(meterRegistry))
+                .increment();
+
         return new CustomApiErrorResponseDto(
                 e.getMessage(),
                 request.getRequestURI(),
                 Instant.now(),
-                HttpStatus.BAD_REQUEST.value()
+                status.value()
         );
     }
 }
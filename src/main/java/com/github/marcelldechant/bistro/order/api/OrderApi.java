@@ -1,21 +1,41 @@
 package com.github.marcelldechant.bistro.order.api;
 
 import com.github.marcelldechant.bistro.exception.dto.CustomApiErrorResponseDto;
+import com.github.marcelldechant.bistro.order.dto.BatchOrderResultDto;
+import com.github.marcelldechant.bistro.order.dto.CompactOrderResponseDto;
 import com.github.marcelldechant.bistro.order.dto.CreateOrderDto;
+import com.github.marcelldechant.bistro.order.dto.OrderPageDto;
 import com.github.marcelldechant.bistro.order.dto.OrderResponseDto;
+import com.github.marcelldechant.bistro.orderitem.dto.CreateOrderItemDto;
+import com.github.marcelldechant.bistro.web.ApiMediaTypes;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
 
 public interface OrderApi {
     @Operation(
             summary = "Create a new order",
-            description = "Creates a new order with the provided details",
+            description = "Creates a new order with the provided details. Requests repeated with the same "
+                    + "Idempotency-Key return the originally created order instead of creating a new one.",
+            parameters = @Parameter(name = "Idempotency-Key", in = ParameterIn.HEADER,
+                    description = "Client generated key (max. 255 characters) that makes retries safe",
+                    example = "pos-7-2025-07-27T12:00:00Z-0042"),
             responses = {
                     @ApiResponse(
                             responseCode = "201",
@@ -44,7 +64,9 @@ public interface OrderApi {
                                                 "subtotal": 19.50,
                                                 "discount": 0.00,
                                                 "total": 19.50,
-                                                "isHappyHour": false
+                                                "isHappyHour": false,
+                                                "createdAt": "2025-07-27T12:00:00Z",
+                                                "closedAt": null
                                             }
                                             """)
                             )
@@ -97,6 +119,22 @@ public interface OrderApi {
                                             """)
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Idempotency-Key was already used for a different order",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CustomApiErrorResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "message": "Idempotency-Key pos-7-0042 was already used for a different order",
+                                              "path": "/api/v1/orders",
+                                              "timestamp": "2025-07-27T12:01:00Z",
+                                              "status": 422
+                                            }
+                                            """)
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "500",
                             description = "Internal server error",
@@ -114,13 +152,426 @@ public interface OrderApi {
                             )
                     )
             })
-    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @PostMapping(produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ApiMediaTypes.APPLICATION_SMILE_VALUE
+    })
     @ResponseStatus(HttpStatus.CREATED)
-    OrderResponseDto createOrder(@RequestBody CreateOrderDto createOrderDto);
+    OrderResponseDto createOrder(@RequestBody CreateOrderDto createOrderDto,
+                                 @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey);
+
+    @Operation(
+            summary = "Create multiple orders at once",
+            description = "Creates all valid orders of the batch in a single transaction. Every order gets its own "
+                    + "result with the status it would have received as a single request, so invalid orders do not "
+                    + "prevent the valid ones from being created.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Batch processed, see the per-order results",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = BatchOrderResultDto.class)),
+                                    examples = @ExampleObject(value = """
+                                            [
+                                              {
+                                                "index": 0,
+                                                "statusCode": 201,
+                                                "order": {
+                                                  "id": 1,
+                                                  "tableNumber": 5,
+                                                  "items": [
+                                                    {
+                                                      "id": 1,
+                                                      "product": {
+                                                        "id": 1,
+                                                        "name": "Cola",
+                                                        "price": 2.50
+                                                      },
+                                                      "quantity": 2,
+                                                      "pricePerUnit": 2.50,
+                                                      "totalPrice": 5.00
+                                                    }
+                                                  ],
+                                                  "subtotal": 5.00,
+                                                  "discount": 0.00,
+                                                  "total": 5.00,
+                                                  "isHappyHour": false,
+                                                  "createdAt": "2025-07-27T12:01:00Z",
+                                                  "closedAt": null
+                                                },
+                                                "message": null
+                                              },
+                                              {
+                                                "index": 1,
+                                                "statusCode": 404,
+                                                "order": null,
+                                                "message": "Product not found with id: 99"
+                                              }
+                                            ]
+                                            """)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The batch does not contain any orders",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CustomApiErrorResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "message": "Batch must contain at least one order",
+                                              "path": "/api/v1/orders/batch",
+                                              "timestamp": "2025-07-27T12:00:00Z",
+                                              "status": 400
+                                            }
+                                            """)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CustomApiErrorResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "message": "Database connection failed",
+                                              "path": "/api/v1/orders/batch",
+                                              "timestamp": "2025-07-25T22:18:45.123Z",
+                                              "statusCode": 500
+                                            }
+                                            """)
+                            )
+                    )
+            })
+    @PostMapping(value = "/batch", produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ApiMediaTypes.APPLICATION_SMILE_VALUE
+    })
+    List<BatchOrderResultDto> createOrders(@RequestBody List<CreateOrderDto> createOrderDtos);
+
+    @Operation(
+            summary = "Add a round of items to an open order",
+            description = "Appends the items to an order that has not been closed yet, e.g. when a table orders "
+                    + "another round. Only the new items are priced, with the discounts active at the time of the "
+                    + "round, and added to the order's subtotal, discount and total. A product may appear only once "
+                    + "per round. If the order already lists it at the same unit price, the quantity is added to "
+                    + "that line. A table may have several open orders, e.g. for separate bills.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Items added successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = OrderResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "id": 1,
+                                              "tableNumber": 5,
+                                              "items": [
+                                                {
+                                                  "id": 1,
+                                                  "product": {
+                                                    "id": 1,
+                                                    "name": "Cola",
+                                                    "price": 2.50
+                                                  },
+                                                  "quantity": 2,
+                                                  "pricePerUnit": 2.50,
+                                                  "totalPrice": 5.00
+                                                },
+                                                {
+                                                  "id": 2,
+                                                  "product": {
+                                                    "id": 1,
+                                                    "name": "Cola",
+                                                    "price": 2.50
+                                                  },
+                                                  "quantity": 2,
+                                                  "pricePerUnit": 2.50,
+                                                  "totalPrice": 5.00
+                                                }
+                                              ],
+                                              "subtotal": 10.00,
+                                              "discount": 0.50,
+                                              "total": 9.50,
+                                              "isHappyHour": true,
+                                              "createdAt": "2025-07-27T16:45:00Z",
+                                              "closedAt": null
+                                            }
+                                            """)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Empty round or invalid quantity",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CustomApiErrorResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "message": "Order must contain at least one item",
+                                              "path": "/api/v1/orders/1/items",
+                                              "timestamp": "2025-07-27T19:30:00Z",
+                                              "status": 400
+                                            }
+                                            """)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Order or product not found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CustomApiErrorResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "message": "Order not found with id: 99",
+                                              "path": "/api/v1/orders/99/items",
+                                              "timestamp": "2025-07-27T19:30:00Z",
+                                              "status": 404
+                                            }
+                                            """)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Order is already closed or the round contains duplicate products",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CustomApiErrorResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "message": "Order 1 is already closed",
+                                              "path": "/api/v1/orders/1/items",
+                                              "timestamp": "2025-07-27T19:30:00Z",
+                                              "status": 409
+                                            }
+                                            """)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CustomApiErrorResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "message": "Database connection failed",
+                                              "path": "/api/v1/orders/{id}",
+                                              "timestamp": "2025-07-25T22:18:45.123Z",
+                                              "statusCode": 500
+                                            }
+                                            """)
+                            )
+                    )
+            }
+    )
+    @PostMapping(value = "/{id}/items", produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ApiMediaTypes.APPLICATION_SMILE_VALUE
+    })
+    OrderResponseDto appendItems(@PathVariable long id, @RequestBody List<CreateOrderItemDto> items);
+
+    @Operation(
+            summary = "Close an order and print its receipt",
+            description = "Closes the order so that no further rounds can be added and returns the receipt covering "
+                    + "all of its rounds.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Order closed successfully",
+                            content = @Content(
+                                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                                    examples = @ExampleObject(value = """
+                                            -------------------------
+                                            Table Nr. 5
+                                            -------------------------
+                                            2 x Cola @ 2.50 = 5.00
+                                            2 x Cola @ 2.50 = 5.00
+                                            -------------------------
+                                            Subtotal: 10.00
+                                            Discount: 5%
+                                            Total: 9.50
+                                            """)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Order not found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CustomApiErrorResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "message": "Order not found with id: 99",
+                                              "path": "/api/v1/orders/99/close",
+                                              "timestamp": "2025-07-27T19:30:00Z",
+                                              "status": 404
+                                            }
+                                            """)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Order is already closed",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CustomApiErrorResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "message": "Order 1 is already closed",
+                                              "path": "/api/v1/orders/1/close",
+                                              "timestamp": "2025-07-27T19:30:00Z",
+                                              "status": 409
+                                            }
+                                            """)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CustomApiErrorResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "message": "Database connection failed",
+                                              "path": "/api/v1/orders/{id}",
+                                              "timestamp": "2025-07-25T22:18:45.123Z",
+                                              "statusCode": 500
+                                            }
+                                            """)
+                            )
+                    )
+            }
+    )
+    @PostMapping(value = "/{id}/close", produces = MediaType.TEXT_PLAIN_VALUE)
+    void closeOrder(@PathVariable long id, HttpServletResponse response) throws IOException;
+
+    @Operation(
+            summary = "List orders created in a time range",
+            description = "Returns the orders with from <= createdAt < to, ordered by creation time and ID. Pages are "
+                    + "keyset-paginated: pass the nextAfterId of the previous page as afterId to continue. nextAfterId "
+                    + "is null on the last page. Every page costs the same, no matter how deep into the range it is.",
+            parameters = {
+                    @Parameter(name = "from", description = "Inclusive start of the range (ISO-8601 instant)",
+                            required = true, example = "2025-07-27T08:00:00Z"),
+                    @Parameter(name = "to", description = "Exclusive end of the range (ISO-8601 instant)",
+                            required = true, example = "2025-07-27T23:00:00Z"),
+                    @Parameter(name = "afterId", description = "ID of the last order of the previous page", example = "51"),
+                    @Parameter(name = "limit", description = "Page size between 1 and 1000, defaults to 50", example = "50")
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Orders retrieved successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = OrderPageDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "orders": [
+                                                {
+                                                  "id": 52,
+                                                  "tableNumber": 3,
+                                                  "items": [
+                                                    {
+                                                      "id": 60,
+                                                      "product": {
+                                                        "id": 2,
+                                                        "name": "Cola",
+                                                        "price": 2.50
+                                                      },
+                                                      "quantity": 2,
+                                                      "pricePerUnit": 2.50,
+                                                      "totalPrice": 5.00
+                                                    }
+                                                  ],
+                                                  "subtotal": 5.00,
+                                                  "discount": 0.00,
+                                                  "total": 5.00,
+                                                  "isHappyHour": false,
+                                                  "createdAt": "2025-07-27T12:01:00Z",
+                                                  "closedAt": null
+                                                }
+                                              ],
+                                              "nextAfterId": 52
+                                            }
+                                            """)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid range or pagination parameters",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CustomApiErrorResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "message": "Parameter from must be before to",
+                                              "path": "/api/v1/orders",
+                                              "timestamp": "2025-07-27T23:05:00Z",
+                                              "status": 400
+                                            }
+                                            """)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CustomApiErrorResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "message": "Database connection failed",
+                                              "path": "/api/v1/orders",
+                                              "timestamp": "2025-07-25T22:18:45.123Z",
+                                              "statusCode": 500
+                                            }
+                                            """)
+                            )
+                    )
+            }
+    )
+    @GetMapping(produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ApiMediaTypes.APPLICATION_SMILE_VALUE
+    })
+    OrderPageDto getOrders(@RequestParam Instant from,
+                           @RequestParam Instant to,
+                           @RequestParam(required = false) Long afterId,
+                           @RequestParam(required = false) Integer limit);
+
+    @Operation(
+            summary = "Stream orders as Server-Sent Events",
+            description = "Opens a Server-Sent Events stream for kitchen displays. Every committed order is sent as an "
+                    + "order-created event and every round added to a tab as an items-added event, with the order "
+                    + "as JSON data. A client that falls too far behind is disconnected and can resume with the "
+                    + "Last-Event-ID header, which replays the most recent events it missed.",
+            parameters = @Parameter(name = "Last-Event-ID", in = ParameterIn.HEADER,
+                    description = "Id of the last event the client received; sent automatically by EventSource",
+                    example = "42"),
+            responses = @ApiResponse(
+                    responseCode = "200",
+                    description = "Event stream opened",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            examples = @ExampleObject(value = """
+                                    id:43
+                                    event:order-created
+                                    data:{"id":7,"tableNumber":5,"orderItems":[{"productId":1,"quantity":2,"name":"Pizza Margherita","price":8.50}],"subtotal":17.00,"discount":0.00,"total":17.00,"isHappyHour":false,"createdAt":"2025-07-27T12:00:00Z","closedAt":null}
+                                    """)
+                    )
+            )
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamOrders(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId);
 
     @Operation(
             summary = "Retrieve an order by ID",
-            description = "Fetches an order by its unique ID. Returns 404 if the order does not exist.",
+            description = "Fetches an order by its unique ID from the read model, which holds the response already "
+                    + "serialized as JSON. Clients that prefer CBOR or Smile get the same order re-encoded. Returns "
+                    + "404 if the order does not exist.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -153,7 +604,9 @@ public interface OrderApi {
                                                               "subtotal": 19.50,
                                                               "discount": 0.00,
                                                               "total": 19.50,
-                                                              "isHappyHour": false
+                                                              "isHappyHour": false,
+                                                              "createdAt": "2025-07-27T12:00:00Z",
+                                                              "closedAt": null
                                                             }
                                                             """
                                             ),
@@ -175,7 +628,9 @@ public interface OrderApi {
                                                               "subtotal": 7.00,
                                                               "discount": 0.70,
                                                               "total": 6.30,
-                                                              "isHappyHour": true
+                                                              "isHappyHour": true,
+                                                              "createdAt": "2025-07-27T18:15:00Z",
+                                                              "closedAt": null
                                                             }
                                                             """
                                             )
@@ -232,8 +687,71 @@ public interface OrderApi {
                     )
             }
     )
-    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    OrderResponseDto getOrderById(@PathVariable long id);
+    @GetMapping(value = "/{id}", produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ApiMediaTypes.APPLICATION_SMILE_VALUE
+    })
+    ResponseEntity<?> getOrderById(@PathVariable long id,
+                                   @Parameter(hidden = true)
+                                   @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept);
+
+    @Operation(
+            summary = "Retrieve a compact view of an order by ID",
+            description = "Selected with view=compact. Items only carry the product ID and name instead of the full "
+                    + "product. The response is built from a single projection query. Returns 404 if the order does "
+                    + "not exist.",
+            parameters = @Parameter(name = "view", required = true, example = "compact",
+                    schema = @Schema(allowableValues = "compact")),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Order retrieved successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CompactOrderResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "id": 1,
+                                              "tableNumber": 3,
+                                              "items": [
+                                                {
+                                                  "id": 1,
+                                                  "productId": 1,
+                                                  "productName": "Pizza Margherita",
+                                                  "quantity": 2,
+                                                  "pricePerUnit": 8.50,
+                                                  "totalPrice": 17.00
+                                                }
+                                              ],
+                                              "subtotal": 17.00,
+                                              "discount": 0.00,
+                                              "total": 17.00,
+                                              "isHappyHour": false
+                                            }
+                                            """)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Order not found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CustomApiErrorResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "message": "Order not found with id: 99",
+                                              "path": "/api/v1/orders/99",
+                                              "timestamp": "2025-07-27T12:05:00Z",
+                                              "status": 404
+                                            }
+                                            """)
+                            )
+                    )
+            }
+    )
+    @GetMapping(value = "/{id}", params = "view=compact", produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ApiMediaTypes.APPLICATION_SMILE_VALUE
+    })
+    CompactOrderResponseDto getCompactOrderById(@PathVariable long id);
 
     @Operation(
             summary = "Retrieve receipt for a given order",
@@ -313,5 +831,5 @@ public interface OrderApi {
             }
     )
     @GetMapping(value = "/{id}/receipt", produces = MediaType.TEXT_PLAIN_VALUE)
-    String getReceiptByOrderId(@PathVariable long id);
+    void getReceiptByOrderId(@PathVariable long id, HttpServletResponse response) throws IOException;
 }
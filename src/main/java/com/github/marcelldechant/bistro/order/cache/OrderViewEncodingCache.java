@@ -0,0 +1,43 @@
+package com.github.marcelldechant.bistro.order.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.marcelldechant.bistro.order.entity.OrderView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/*
+ * CBOR and Smile bodies of order views, encoded on the first request per format like the catalog's encodings. An entry
+ * remembers the JSON it was encoded from and is only served while the view still holds exactly that JSON, so a tab
+ * that got another round is encoded again without the write path having to invalidate anything.
+ */
+@Component
+public class OrderViewEncodingCache {
+    private final Cache<Key, Encoding> cache;
+
+    public OrderViewEncodingCache(@Value("${order.read-model.encoding-cache.maximum-size:10000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public byte[] encoding(OrderView view, String variant, Supplier<byte[]> encoder) {
+        Key key = new Key(view.getOrderId(), variant);
+        Encoding cached = cache.getIfPresent(key);
+        if (cached != null && Arrays.equals(cached.json(), view.getResponseJson())) {
+            return cached.body();
+        }
+        byte[] body = encoder.get();
+        cache.put(key, new Encoding(view.getResponseJson(), body));
+        return body;
+    }
+
+    private record Key(long orderId, String variant) {
+    }
+
+    private record Encoding(byte[] json, byte[] body) {
+    }
+}
@@ -1,34 +1,162 @@
 package com.github.marcelldechant.bistro.order.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.marcelldechant.bistro.order.api.OrderApi;
+import com.github.marcelldechant.bistro.order.cache.OrderViewEncodingCache;
+import com.github.marcelldechant.bistro.order.dto.BatchOrderResultDto;
+import com.github.marcelldechant.bistro.order.dto.CompactOrderResponseDto;
 import com.github.marcelldechant.bistro.order.dto.CreateOrderDto;
+import com.github.marcelldechant.bistro.order.dto.OrderPageDto;
 import com.github.marcelldechant.bistro.order.dto.OrderResponseDto;
-import com.github.marcelldechant.bistro.order.entity.Order;
+import com.github.marcelldechant.bistro.order.entity.OrderView;
+import com.github.marcelldechant.bistro.order.service.OrderIdempotencyService;
+import com.github.marcelldechant.bistro.order.service.OrderReadModel;
 import com.github.marcelldechant.bistro.order.service.OrderService;
-import com.github.marcelldechant.bistro.order.util.ReceiptFormatter;
-import lombok.RequiredArgsConstructor;
+import com.github.marcelldechant.bistro.order.stream.OrderEventStream;
+import com.github.marcelldechant.bistro.orderitem.dto.CreateOrderItemDto;
+import com.github.marcelldechant.bistro.web.ApiMediaTypes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/orders")
-@RequiredArgsConstructor
 public class OrderController implements OrderApi {
     private final OrderService orderService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderReadModel orderReadModel;
+    private final OrderEventStream orderEventStream;
+    private final ObjectMapper objectMapper;
+    private final MappingJackson2CborHttpMessageConverter cborConverter;
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+    private final OrderViewEncodingCache orderViewEncodingCache;
+    private final MeterRegistry meterRegistry;
+    private final Timer getOrderTimer;
+    private final Timer receiptRenderTimer;
+
+    public OrderController(OrderService orderService,
+                           OrderIdempotencyService orderIdempotencyService,
+                           OrderReadModel orderReadModel,
+                           OrderEventStream orderEventStream,
+                           MeterRegistry meterRegistry,
+                           ObjectMapper objectMapper,
+                           MappingJackson2CborHttpMessageConverter cborConverter,
+                           MappingJackson2SmileHttpMessageConverter smileConverter,
+                           OrderViewEncodingCache orderViewEncodingCache) {
+        this.orderService = orderService;
+        this.orderIdempotencyService = orderIdempotencyService;
+        this.orderReadModel = orderReadModel;
+        this.orderEventStream = orderEventStream;
+        this.objectMapper = objectMapper;
+        this.cborConverter = cborConverter;
+        this.smileConverter = smileConverter;
+        this.orderViewEncodingCache = orderViewEncodingCache;
+        this.meterRegistry = meterRegistry;
+        this.getOrderTimer = Timer.builder("bistro.order.get")
+                .description("Time to look up a single order in the read model and write it")
+                .register(meterRegistry);
+        this.receiptRenderTimer = Timer.builder("bistro.order.receipt.render")
+                .description("Time to render a receipt into the response")
+                .register(meterRegistry);
+    }
 
     @Override
-    public OrderResponseDto createOrder(CreateOrderDto createOrderDto) {
-        return orderService.createOrder(createOrderDto);
+    public OrderResponseDto createOrder(CreateOrderDto createOrderDto, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return orderService.createOrder(createOrderDto);
+        }
+        return orderIdempotencyService.createOrder(idempotencyKey, createOrderDto);
     }
 
     @Override
-    public OrderResponseDto getOrderById(long id) {
-        return orderService.getOrderById(id);
+    public List<BatchOrderResultDto> createOrders(List<CreateOrderDto> createOrderDtos) {
+        return orderService.createOrders(createOrderDtos);
     }
 
+    /*
+     * JSON is served from the stored view as is. CBOR and Smile are encoded from it once per view and format.
+     */
     @Override
-    public String getReceiptByOrderId(long id) {
-        Order order = orderService.getOrderByIdEntity(id);
-        return ReceiptFormatter.format(order);
+    public ResponseEntity<?> getOrderById(long id, String accept) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            OrderView view = orderReadModel.getView(id);
+            MediaType mediaType = ApiMediaTypes.preferredObjectMediaType(accept);
+            byte[] body = view.getResponseJson();
+            if (!mediaType.equals(MediaType.APPLICATION_JSON)) {
+                body = orderViewEncodingCache.encoding(view, mediaType.getSubtype(), () -> encode(mediaType, view));
+            }
+            return ResponseEntity.ok()
+                    .contentType(mediaType)
+                    .body(body);
+        } finally {
+            sample.stop(getOrderTimer);
+        }
+    }
+
+    @Override
+    public OrderResponseDto appendItems(long id, List<CreateOrderItemDto> items) {
+        return orderService.appendItems(id, items);
+    }
+
+    @Override
+    public void closeOrder(long id, HttpServletResponse response) throws IOException {
+        writeReceipt(orderService.closeOrder(id), response);
+    }
+
+    @Override
+    public OrderPageDto getOrders(Instant from, Instant to, Long afterId, Integer limit) {
+        return orderService.getOrders(from, to, afterId, limit);
+    }
+
+    @Override
+    public SseEmitter streamOrders(Long lastEventId) {
+        return orderEventStream.subscribe(lastEventId);
+    }
+
+    @Override
+    public CompactOrderResponseDto getCompactOrderById(long id) {
+        return orderService.getCompactOrderById(id);
+    }
+
+    @Override
+    public void getReceiptByOrderId(long id, HttpServletResponse response) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            writeReceipt(orderReadModel.getView(id), response);
+        } finally {
+            sample.stop(receiptRenderTimer);
+        }
+    }
+
+    private byte[] encode(MediaType mediaType, OrderView view) {
+        ObjectMapper mapper = mediaType.equals(MediaType.APPLICATION_CBOR)
+                ? cborConverter.getObjectMapper()
+                : smileConverter.getObjectMapper();
+        try {
+            return mapper.writeValueAsBytes(objectMapper.readValue(view.getResponseJson(), OrderResponseDto.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeReceipt(OrderView view, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(view.getReceipt().length);
+        response.getOutputStream().write(view.getReceipt());
     }
 }
@@ -0,0 +1,9 @@
+package com.github.marcelldechant.bistro.order.dto;
+
+public record BatchOrderResultDto(
+        int index,
+        int statusCode,
+        OrderResponseDto order,
+        String message
+) {
+}
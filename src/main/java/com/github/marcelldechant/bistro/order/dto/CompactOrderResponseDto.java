@@ -0,0 +1,17 @@
+package com.github.marcelldechant.bistro.order.dto;
+
+import com.github.marcelldechant.bistro.orderitem.dto.CompactOrderItemResponseDto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record CompactOrderResponseDto(
+        Long id,
+        int tableNumber,
+        List<CompactOrderItemResponseDto> items,
+        BigDecimal subtotal,
+        BigDecimal discount,
+        BigDecimal total,
+        boolean isHappyHour
+) {
+}
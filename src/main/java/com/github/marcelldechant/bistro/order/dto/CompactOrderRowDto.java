@@ -0,0 +1,19 @@
+package com.github.marcelldechant.bistro.order.dto;
+
+import com.github.marcelldechant.bistro.order.pricing.Money;
+
+public record CompactOrderRowDto(
+        Long orderId,
+        int tableNumber,
+        Money subtotal,
+        Money discount,
+        Money total,
+        boolean isHappyHour,
+        Long itemId,
+        Long productId,
+        String productName,
+        int quantity,
+        Money pricePerUnit,
+        Money totalPrice
+) {
+}
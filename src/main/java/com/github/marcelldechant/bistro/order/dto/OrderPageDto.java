@@ -0,0 +1,9 @@
+package com.github.marcelldechant.bistro.order.dto;
+
+import java.util.List;
+
+public record OrderPageDto(
+        List<OrderResponseDto> orders,
+        Long nextAfterId
+) {
+}
@@ -3,6 +3,7 @@ package com.github.marcelldechant.bistro.order.dto;
 import com.github.marcelldechant.bistro.orderitem.dto.OrderItemResponseDto;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 public record OrderResponseDto(
@@ -12,6 +13,8 @@ public record OrderResponseDto(
         BigDecimal subtotal,
         BigDecimal discount,
         BigDecimal total,
-        boolean isHappyHour
+        boolean isHappyHour,
+        Instant createdAt,
+        Instant closedAt
 ) {
 }
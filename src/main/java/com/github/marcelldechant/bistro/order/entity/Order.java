@@ -1,5 +1,6 @@
 package com.github.marcelldechant.bistro.order.entity;
 
+import com.github.marcelldechant.bistro.order.pricing.Money;
 import com.github.marcelldechant.bistro.orderitem.entity.OrderItem;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -7,7 +8,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 @Entity
@@ -15,23 +16,35 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_created_at_id", columnList = "createdAt, id"))
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     private int tableNumber;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
-    @JoinColumn(name = "order_id")
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
     private List<OrderItem> items;
 
-    private BigDecimal subtotal;
+    private Money subtotal;
 
-    private BigDecimal discount;
+    private Money discount;
 
-    private BigDecimal total;
+    private Money total;
 
     private boolean isHappyHour;
+
+    /* Applied discount rate in basis points as printed on the receipt, null if nothing was discounted. */
+    private Integer discountRate;
+
+    private Instant createdAt;
+
+    private Instant closedAt;
+
+    public boolean isOpen() {
+        return closedAt == null;
+    }
 }
@@ -0,0 +1,55 @@
+package com.github.marcelldechant.bistro.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "order_idempotency_keys", indexes = @Index(name = "idx_order_idempotency_keys_created_at", columnList = "createdAt"))
+public class OrderIdempotencyKey implements Persistable<String> {
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+
+    @Column(nullable = false)
+    private long orderId;
+
+    @Column(nullable = false, length = 32)
+    private byte[] requestDigest;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /*
+     * Keys are only ever inserted. Persisting instead of merging skips the select before the insert, and a key that
+     * another instance stored first fails the insert together with its order instead of being overwritten.
+     */
+    @Transient
+    @Builder.Default
+    private boolean fresh = true;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        fresh = false;
+    }
+}
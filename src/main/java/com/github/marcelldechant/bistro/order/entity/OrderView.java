@@ -0,0 +1,50 @@
+package com.github.marcelldechant.bistro.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "order_views")
+public class OrderView implements Persistable<Long> {
+    private static final int MAX_DOCUMENT_LENGTH = 1_000_000_000;
+
+    @Id
+    private Long orderId;
+
+    @Column(nullable = false, length = MAX_DOCUMENT_LENGTH)
+    private byte[] responseJson;
+
+    @Column(nullable = false, length = MAX_DOCUMENT_LENGTH)
+    private byte[] receipt;
+
+    /*
+     * Views carry the id of their order, so without this flag every save would be a merge with a select first.
+     */
+    @Transient
+    @Builder.Default
+    private boolean fresh = true;
+
+    @Override
+    public Long getId() {
+        return orderId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        fresh = false;
+    }
+}
@@ -0,0 +1,7 @@
+package com.github.marcelldechant.bistro.order.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.github.marcelldechant.bistro.order.exception;
+
+public class OrderClosedException extends RuntimeException {
+    public OrderClosedException(String message) {
+        super(message);
+    }
+}
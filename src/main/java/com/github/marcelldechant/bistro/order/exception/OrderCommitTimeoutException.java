@@ -0,0 +1,7 @@
+package com.github.marcelldechant.bistro.order.exception;
+
+public class OrderCommitTimeoutException extends RuntimeException {
+    public OrderCommitTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.github.marcelldechant.bistro.order.exception;
+
+public class OrderQueueFullException extends RuntimeException {
+    public OrderQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -1,11 +1,15 @@
 package com.github.marcelldechant.bistro.order.mapper;
 
+import com.github.marcelldechant.bistro.order.dto.CompactOrderResponseDto;
+import com.github.marcelldechant.bistro.order.dto.CompactOrderRowDto;
 import com.github.marcelldechant.bistro.order.dto.OrderResponseDto;
 import com.github.marcelldechant.bistro.order.entity.Order;
+import com.github.marcelldechant.bistro.order.pricing.Money;
+import com.github.marcelldechant.bistro.orderitem.dto.CompactOrderItemResponseDto;
 import com.github.marcelldechant.bistro.orderitem.entity.OrderItem;
 import com.github.marcelldechant.bistro.orderitem.mapper.OrderItemMapper;
 
-import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 public class OrderMapper {
@@ -14,10 +18,12 @@ public class OrderMapper {
 
     public static Order toEntity(int tableNumber,
                                  List<OrderItem> items,
-                                 BigDecimal subtotal,
-                                 BigDecimal discount,
-                                 BigDecimal total,
-                                 boolean isHappyHour) {
+                                 Money subtotal,
+                                 Money discount,
+                                 Money total,
+                                 boolean isHappyHour,
+                                 Integer discountRate,
+                                 Instant createdAt) {
 
         return Order.builder()
                 .tableNumber(tableNumber)
@@ -26,6 +32,8 @@ public class OrderMapper {
                 .discount(discount)
                 .total(total)
                 .isHappyHour(isHappyHour)
+                .discountRate(discountRate)
+                .createdAt(createdAt)
                 .build();
     }
 
@@ -34,10 +42,36 @@ public class OrderMapper {
                 order.getId(),
                 order.getTableNumber(),
                 order.getItems().stream().map(OrderItemMapper::fromEntity).toList(),
-                order.getSubtotal(),
-                order.getDiscount(),
-                order.getTotal(),
-                order.isHappyHour()
+                order.getSubtotal().toBigDecimal(),
+                order.getDiscount().toBigDecimal(),
+                order.getTotal().toBigDecimal(),
+                order.isHappyHour(),
+                order.getCreatedAt(),
+                order.getClosedAt()
+        );
+    }
+
+    public static CompactOrderResponseDto toCompactResponseDto(List<CompactOrderRowDto> rows) {
+        CompactOrderRowDto first = rows.getFirst();
+        return new CompactOrderResponseDto(
+                first.orderId(),
+                first.tableNumber(),
+                rows.stream().map(OrderMapper::toCompactItemResponseDto).toList(),
+                first.subtotal().toBigDecimal(),
+                first.discount().toBigDecimal(),
+                first.total().toBigDecimal(),
+                first.isHappyHour()
+        );
+    }
+
+    private static CompactOrderItemResponseDto toCompactItemResponseDto(CompactOrderRowDto row) {
+        return new CompactOrderItemResponseDto(
+                row.itemId(),
+                row.productId(),
+                row.productName(),
+                row.quantity(),
+                row.pricePerUnit().toBigDecimal(),
+                row.totalPrice().toBigDecimal()
         );
     }
 }
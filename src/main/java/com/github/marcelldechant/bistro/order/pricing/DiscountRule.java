@@ -0,0 +1,45 @@
+package com.github.marcelldechant.bistro.order.pricing;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Set;
+
+public record DiscountRule(
+        @NotBlank
+        String name,
+
+        @NotNull
+        @DateTimeFormat(pattern = "H:mm")
+        LocalTime start,
+
+        @NotNull
+        @DateTimeFormat(pattern = "H:mm")
+        LocalTime end,
+
+        Set<DayOfWeek> days,
+
+        @NotNull
+        @DecimalMin(value = "0.00", message = "Discount rate must not be negative")
+        @DecimalMax(value = "1.00", message = "Discount rate must not exceed 1.00")
+        @Digits(integer = 1, fraction = 4, message = "Discount rate must have max 4 fraction digits")
+        BigDecimal rate,
+
+        Set<String> products
+) {
+    public DiscountRule {
+        days = days == null || days.isEmpty() ? Set.of(DayOfWeek.values()) : Set.copyOf(days);
+        products = products == null ? Set.of() : Set.copyOf(products);
+    }
+
+    public boolean appliesToWholeOrder() {
+        return products.isEmpty();
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.marcelldechant.bistro.order.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/*
+ * Amounts are held as a long number of cents, so pricing runs on primitive arithmetic without allocating a
+ * BigDecimal per step. Rates are given in basis points (1/100 of a percent), and every division rounds half away
+ * from zero to the nearest cent. Overflow throws instead of wrapping. BigDecimal is only used when reading catalog
+ * prices and at the JPA and JSON boundary.
+ */
+public record Money(long cents) implements Comparable<Money> {
+    public static final Money ZERO = new Money(0);
+    public static final int BASIS_POINTS = 10_000;
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    public static Money of(BigDecimal amount) {
+        return ofCents(amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public static Money ofCentBasisPoints(long centBasisPoints) {
+        return ofCents(divideHalfUp(centBasisPoints, BASIS_POINTS));
+    }
+
+    public static int toBasisPoints(BigDecimal rate) {
+        return rate.movePointRight(4).intValueExact();
+    }
+
+    public Money plus(Money other) {
+        return other.cents == 0 ? this : ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return other.cents == 0 ? this : ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money times(int quantity) {
+        return quantity == 1 ? this : ofCents(Math.multiplyExact(cents, quantity));
+    }
+
+    public long timesBasisPoints(int basisPoints) {
+        return Math.multiplyExact(cents, basisPoints);
+    }
+
+    public Money percentage(int basisPoints) {
+        return ofCentBasisPoints(timesBasisPoints(basisPoints));
+    }
+
+    /*
+     * Returns the rate in basis points that an unrounded amount in cent basis points is of the whole, e.g. the
+     * effective rate of line discounts summed before rounding.
+     */
+    public static int rateOf(long centBasisPoints, Money whole) {
+        return Math.toIntExact(divideHalfUp(centBasisPoints, whole.cents));
+    }
+
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= Math.abs(divisor)) {
+            quotient += Long.signum(dividend) * Long.signum(divisor);
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.marcelldechant.bistro.order.pricing;
+
+import com.github.marcelldechant.bistro.orderitem.entity.OrderItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+@Slf4j
+@Component
+public class PricingEngine {
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int SECONDS_PER_WEEK = 7 * SECONDS_PER_DAY;
+    private static final PriceWindow NO_DISCOUNT = new PriceWindow(null, Map.of());
+
+    private final int[] windowStarts;
+    private final PriceWindow[] windows;
+
+    public PricingEngine(PricingProperties properties) {
+        List<Segment> segments = toSegments(properties.rules());
+
+        TreeSet<Integer> boundaries = new TreeSet<>();
+        boundaries.add(0);
+        for (Segment segment : segments) {
+            boundaries.add(segment.start());
+            if (segment.end() < SECONDS_PER_WEEK) {
+                boundaries.add(segment.end());
+            }
+        }
+
+        List<Integer> starts = new ArrayList<>(boundaries.size());
+        List<PriceWindow> compiled = new ArrayList<>(boundaries.size());
+        for (int boundary : boundaries) {
+            PriceWindow window = compileWindow(boundary, segments);
+            if (!compiled.isEmpty() && compiled.getLast().equals(window)) {
+                continue;
+            }
+            starts.add(boundary);
+            compiled.add(window);
+        }
+
+        this.windowStarts = starts.stream().mapToInt(Integer::intValue).toArray();
+        this.windows = compiled.toArray(PriceWindow[]::new);
+        log.info("Compiled {} pricing rules into {} price windows", properties.rules().size(), windows.length);
+    }
+
+    public PricingResult price(List<OrderItem> items, LocalDateTime at) {
+        PriceWindow window = windowAt(at.getDayOfWeek(), at.toLocalTime());
+
+        Money subtotal = Money.ZERO;
+        for (OrderItem item : items) {
+            subtotal = subtotal.plus(item.getTotalPrice());
+        }
+
+        if (window.productRates().isEmpty()) {
+            Money discount = orderDiscount(subtotal, window);
+            return result(subtotal, discount, window.orderRate());
+        }
+        return itemDiscount(items, subtotal, window);
+    }
+
+    PriceWindow windowAt(DayOfWeek day, LocalTime time) {
+        int secondOfWeek = (day.getValue() - 1) * SECONDS_PER_DAY + time.toSecondOfDay();
+        int index = Arrays.binarySearch(windowStarts, secondOfWeek);
+        return windows[index >= 0 ? index : -index - 2];
+    }
+
+    int windowCount() {
+        return windows.length;
+    }
+
+    private Money orderDiscount(Money subtotal, PriceWindow window) {
+        return window.orderRate() == null ? Money.ZERO : subtotal.percentage(window.orderRate());
+    }
+
+    /*
+     * Line discounts are summed unrounded and rounded once, so an order-wide rate and the same rate given per
+     * product produce the same discount. The reported rate is the one rule rate if every line got it, and otherwise
+     * the effective rate of the unrounded sum.
+     */
+    private PricingResult itemDiscount(List<OrderItem> items, Money subtotal, PriceWindow window) {
+        long discount = 0;
+        Integer commonRate = null;
+        boolean mixed = false;
+        for (OrderItem item : items) {
+            Integer rate = window.productRates().getOrDefault(item.getProduct().getName(), window.orderRate());
+            if (rate != null) {
+                discount = Math.addExact(discount, item.getTotalPrice().timesBasisPoints(rate));
+            }
+            if (rate == null || (commonRate != null && !commonRate.equals(rate))) {
+                mixed = true;
+            }
+            commonRate = rate;
+        }
+
+        Integer rate = mixed && subtotal.signum() > 0 ? Integer.valueOf(Money.rateOf(discount, subtotal)) : commonRate;
+        return result(subtotal, Money.ofCentBasisPoints(discount), rate);
+    }
+
+    private static PricingResult result(Money subtotal, Money discount, Integer rate) {
+        boolean discounted = discount.signum() > 0;
+        return new PricingResult(subtotal, discount, subtotal.minus(discount), discounted, discounted ? rate : null);
+    }
+
+    private static PriceWindow compileWindow(int secondOfWeek, List<Segment> segments) {
+        boolean active = false;
+        Integer orderRate = null;
+        Map<String, Integer> productRates = new HashMap<>();
+
+        for (Segment segment : segments) {
+            if (secondOfWeek < segment.start() || secondOfWeek >= segment.end()) {
+                continue;
+            }
+            active = true;
+            DiscountRule rule = segment.rule();
+            int rate = Money.toBasisPoints(rule.rate());
+            if (rule.appliesToWholeOrder()) {
+                orderRate = max(orderRate, rate);
+            } else {
+                for (String product : rule.products()) {
+                    productRates.merge(product, rate, PricingEngine::max);
+                }
+            }
+        }
+
+        if (!active) {
+            return NO_DISCOUNT;
+        }
+        if (orderRate != null) {
+            int floor = orderRate;
+            productRates.replaceAll((product, rate) -> max(rate, floor));
+        }
+        return new PriceWindow(orderRate, Map.copyOf(productRates));
+    }
+
+    private static List<Segment> toSegments(List<DiscountRule> rules) {
+        List<Segment> segments = new ArrayList<>();
+        for (DiscountRule rule : rules) {
+            int start = rule.start().toSecondOfDay();
+            int end = rule.end().toSecondOfDay();
+
+            for (DayOfWeek day : rule.days()) {
+                int dayStart = (day.getValue() - 1) * SECONDS_PER_DAY;
+                if (start < end) {
+                    segments.add(new Segment(dayStart + start, dayStart + end, rule));
+                } else if (start == end) {
+                    segments.add(new Segment(dayStart, dayStart + SECONDS_PER_DAY, rule));
+                } else {
+                    int nextDayStart = (dayStart + SECONDS_PER_DAY) % SECONDS_PER_WEEK;
+                    segments.add(new Segment(dayStart + start, dayStart + SECONDS_PER_DAY, rule));
+                    segments.add(new Segment(nextDayStart, nextDayStart + end, rule));
+                }
+            }
+        }
+        return segments;
+    }
+
+    private static Integer max(Integer current, Integer candidate) {
+        return current == null || candidate > current ? candidate : current;
+    }
+
+    record PriceWindow(Integer orderRate, Map<String, Integer> productRates) {
+    }
+
+    private record Segment(int start, int end, DiscountRule rule) {
+    }
+}
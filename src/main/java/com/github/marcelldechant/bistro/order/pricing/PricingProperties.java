@@ -0,0 +1,18 @@
+package com.github.marcelldechant.bistro.order.pricing;
+
+import jakarta.validation.Valid;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.List;
+
+@Validated
+@ConfigurationProperties(prefix = "pricing")
+public record PricingProperties(
+        @Valid
+        List<DiscountRule> rules
+) {
+    public PricingProperties {
+        rules = rules == null ? List.of() : List.copyOf(rules);
+    }
+}
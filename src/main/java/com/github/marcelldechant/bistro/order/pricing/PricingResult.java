@@ -0,0 +1,10 @@
+package com.github.marcelldechant.bistro.order.pricing;
+
+public record PricingResult(
+        Money subtotal,
+        Money discount,
+        Money total,
+        boolean isHappyHour,
+        Integer discountRate
+) {
+}
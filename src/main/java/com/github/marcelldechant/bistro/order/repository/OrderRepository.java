@@ -1,9 +1,54 @@
 package com.github.marcelldechant.bistro.order.repository;
 
+import com.github.marcelldechant.bistro.order.dto.CompactOrderRowDto;
 import com.github.marcelldechant.bistro.order.entity.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
+    @Override
+    @EntityGraph(attributePaths = {"items", "items.product"})
+    Optional<Order> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = {"items", "items.product"})
+    List<Order> findAllById(Iterable<Long> ids);
+
+    @Override
+    @EntityGraph(attributePaths = {"items", "items.product"})
+    List<Order> findAll();
+
+    @Query("select o.id from Order o where o.id > :afterId order by o.id")
+    List<Long> findIdsAfter(long afterId, Limit limit);
+
+    @Query("select o.tableNumber from Order o where o.id = :id")
+    Optional<Integer> findTableNumberById(long id);
+
+    @Query("select o.createdAt from Order o where o.id = :id")
+    Optional<Instant> findCreatedAtById(long id);
+
+    /*
+     * Keyset page on (createdAt, id): the first page starts at afterCreatedAt = from with afterId = 0. The leading
+     * createdAt >= :afterCreatedAt bound lets the index seek to the cursor instead of skipping earlier rows.
+     */
+    @Query("select o.id from Order o " +
+            "where o.createdAt >= :afterCreatedAt and o.createdAt < :to " +
+            "and (o.createdAt > :afterCreatedAt or o.id > :afterId) " +
+            "order by o.createdAt, o.id")
+    List<Long> findPageIds(Instant afterCreatedAt, long afterId, Instant to, Limit limit);
+
+    @Query("select new com.github.marcelldechant.bistro.order.dto.CompactOrderRowDto(" +
+            "o.id, o.tableNumber, o.subtotal, o.discount, o.total, o.isHappyHour, " +
+            "i.id, p.id, p.name, i.quantity, i.pricePerUnit, i.totalPrice) " +
+            "from Order o join o.items i join i.product p " +
+            "where o.id = :orderId order by i.id")
+    List<CompactOrderRowDto> findCompactRowsByOrderId(long orderId);
 }
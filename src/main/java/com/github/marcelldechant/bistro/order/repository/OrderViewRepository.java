@@ -0,0 +1,9 @@
+package com.github.marcelldechant.bistro.order.repository;
+
+import com.github.marcelldechant.bistro.order.entity.OrderView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderViewRepository extends JpaRepository<OrderView, Long> {
+}
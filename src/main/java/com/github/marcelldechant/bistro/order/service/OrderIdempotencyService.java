@@ -0,0 +1,153 @@
+package com.github.marcelldechant.bistro.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.marcelldechant.bistro.order.dto.CreateOrderDto;
+import com.github.marcelldechant.bistro.order.dto.OrderResponseDto;
+import com.github.marcelldechant.bistro.order.entity.OrderIdempotencyKey;
+import com.github.marcelldechant.bistro.order.exception.IdempotencyKeyException;
+import com.github.marcelldechant.bistro.order.exception.IdempotencyKeyMismatchException;
+import com.github.marcelldechant.bistro.order.repository.OrderIdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/*
+ * Makes order creation safe to retry. The first request with a given Idempotency-Key creates the order; retries
+ * get the stored response from a bounded TTL cache, and duplicates arriving while the first request is still in
+ * flight wait for its outcome instead of creating a second order. The key table keeps the mapping across restarts.
+ */
+@Slf4j
+@Service
+public class OrderIdempotencyService {
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final OrderService orderService;
+    private final OrderIdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Cache<String, IdempotentResult> results;
+
+    public OrderIdempotencyService(OrderService orderService,
+                                   OrderIdempotencyKeyRepository idempotencyKeyRepository,
+                                   ObjectMapper objectMapper,
+                                   @Value("${order.idempotency.cache.maximum-size:10000}") long maximumSize,
+                                   @Value("${order.idempotency.ttl:24h}") Duration ttl) {
+        this.orderService = orderService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public OrderResponseDto createOrder(String idempotencyKey, CreateOrderDto dto) {
+        validateKey(idempotencyKey);
+        byte[] requestDigest = digest(dto);
+
+        CompletableFuture<OrderResponseDto> response = new CompletableFuture<>();
+        IdempotentResult existing = results.asMap()
+                .putIfAbsent(idempotencyKey, new IdempotentResult(requestDigest, response));
+        if (existing != null) {
+            verifySameRequest(idempotencyKey, existing.requestDigest(), requestDigest);
+            return await(existing.response());
+        }
+
+        try {
+            OrderResponseDto created = findPersistedResponse(idempotencyKey, requestDigest)
+                    .orElseGet(() -> createAndRemember(idempotencyKey, requestDigest, dto));
+            response.complete(created);
+            return created;
+        } catch (RuntimeException e) {
+            results.invalidate(idempotencyKey);
+            response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order.idempotency.purge-interval:1h}")
+    public void purgeExpiredKeys() {
+        int purged = idempotencyKeyRepository.deleteCreatedBefore(Instant.now().minus(ttl));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private Optional<OrderResponseDto> findPersistedResponse(String idempotencyKey, byte[] requestDigest) {
+        return idempotencyKeyRepository.findById(idempotencyKey)
+                .filter(key -> key.getCreatedAt().isAfter(Instant.now().minus(ttl)))
+                .map(key -> {
+                    verifySameRequest(idempotencyKey, key.getRequestDigest(), requestDigest);
+                    return orderService.getOrderById(key.getOrderId());
+                });
+    }
+
+    /*
+     * The key is stored in the transaction that commits the order, so a crash can never leave an order behind that
+     * a retry after a restart would not find.
+     */
+    private OrderResponseDto createAndRemember(String idempotencyKey, byte[] requestDigest, CreateOrderDto dto) {
+        return orderService.createOrder(dto, saved -> idempotencyKeyRepository.save(OrderIdempotencyKey.builder()
+                .key(idempotencyKey)
+                .orderId(saved.getId())
+                .requestDigest(requestDigest)
+                .createdAt(Instant.now())
+                .build()));
+    }
+
+    private static void validateKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IdempotencyKeyException(
+                    "Idempotency-Key must not be blank and at most " + MAX_KEY_LENGTH + " characters long");
+        }
+    }
+
+    /*
+     * The request is fingerprinted by the SHA-256 of its JSON form, so a JSON, CBOR or Smile body for the same order
+     * match, and two different orders cannot collide the way a 32-bit hash code can.
+     */
+    private byte[] digest(CreateOrderDto dto) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(dto));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void verifySameRequest(String idempotencyKey, byte[] storedDigest, byte[] requestDigest) {
+        if (!MessageDigest.isEqual(storedDigest, requestDigest)) {
+            throw new IdempotencyKeyMismatchException(
+                    "Idempotency-Key " + idempotencyKey + " was already used for a different order");
+        }
+    }
+
+    private static OrderResponseDto await(CompletableFuture<OrderResponseDto> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record IdempotentResult(byte[] requestDigest, CompletableFuture<OrderResponseDto> response) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.marcelldechant.bistro.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.marcelldechant.bistro.order.entity.Order;
+import com.github.marcelldechant.bistro.order.entity.OrderView;
+import com.github.marcelldechant.bistro.order.exception.OrderNotFoundException;
+import com.github.marcelldechant.bistro.order.mapper.OrderMapper;
+import com.github.marcelldechant.bistro.order.repository.OrderRepository;
+import com.github.marcelldechant.bistro.order.repository.OrderViewRepository;
+import com.github.marcelldechant.bistro.order.util.ReceiptFormatter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/*
+ * Query side of orders: the response JSON and the receipt are rendered once when an order is persisted and stored
+ * per order id, so reads are a primary-key lookup that returns finished bytes. The normalized tables stay the source
+ * of truth. A missing view is rebuilt from them on first read, and rebuild() re-renders every order, e.g. after the
+ * response format changed.
+ */
+@Slf4j
+@Service
+public class OrderReadModel {
+    private final OrderViewRepository orderViewRepository;
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    private final int rebuildBatchSize;
+    private final boolean rebuildOnStartup;
+
+    public OrderReadModel(OrderViewRepository orderViewRepository,
+                          OrderRepository orderRepository,
+                          ObjectMapper objectMapper,
+                          @Value("${order.read-model.rebuild-batch-size:500}") int rebuildBatchSize,
+                          @Value("${order.read-model.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.orderViewRepository = orderViewRepository;
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+        this.rebuildBatchSize = rebuildBatchSize;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    /*
+     * Stores the view of a newly saved order in the caller's transaction, so it commits together with the order and
+     * costs no transaction of its own. Failures propagate and roll the order back, like replace().
+     */
+    public OrderView insert(Order order) {
+        return orderViewRepository.save(render(order));
+    }
+
+    /*
+     * Overwrites the view of an order that changed after it was stored. Failures propagate so that the caller's
+     * transaction rolls back instead of leaving a stale view behind.
+     */
+    public OrderView replace(Order order) {
+        OrderView view = render(order);
+        view.setFresh(false);
+        return orderViewRepository.save(view);
+    }
+
+    public OrderView getView(long orderId) {
+        return orderViewRepository.findById(orderId).orElseGet(() -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
+            OrderView view = render(order);
+            try {
+                return orderViewRepository.save(view);
+            } catch (DataIntegrityViolationException e) {
+                return view;
+            }
+        });
+    }
+
+    public long rebuild() {
+        long rebuilt = 0;
+        long afterId = 0;
+        List<Long> ids;
+        while (!(ids = orderRepository.findIdsAfter(afterId, Limit.of(rebuildBatchSize))).isEmpty()) {
+            orderViewRepository.saveAll(orderRepository.findAllById(ids).stream()
+                    .map(this::render)
+                    .peek(view -> view.setFresh(false))
+                    .toList());
+            rebuilt += ids.size();
+            afterId = ids.getLast();
+        }
+        log.info("Rebuilt the order read model for {} orders", rebuilt);
+        return rebuilt;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    private OrderView render(Order order) {
+        try {
+            return OrderView.builder()
+                    .orderId(order.getId())
+                    .responseJson(objectMapper.writeValueAsBytes(OrderMapper.toResponseDto(order)))
+                    .receipt(ReceiptFormatter.format(order).getBytes(StandardCharsets.UTF_8))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,76 +1,387 @@
 package com.github.marcelldechant.bistro.order.service;
 
+import com.github.marcelldechant.bistro.order.dto.BatchOrderResultDto;
+import com.github.marcelldechant.bistro.order.dto.CompactOrderResponseDto;
+import com.github.marcelldechant.bistro.order.dto.CompactOrderRowDto;
 import com.github.marcelldechant.bistro.order.dto.CreateOrderDto;
+import com.github.marcelldechant.bistro.order.dto.OrderPageDto;
 import com.github.marcelldechant.bistro.order.dto.OrderResponseDto;
 import com.github.marcelldechant.bistro.order.entity.Order;
+import com.github.marcelldechant.bistro.order.entity.OrderView;
 import com.github.marcelldechant.bistro.order.exception.DuplicateException;
 import com.github.marcelldechant.bistro.order.exception.NoItemsException;
+import com.github.marcelldechant.bistro.order.exception.OrderClosedException;
 import com.github.marcelldechant.bistro.order.exception.OrderNotFoundException;
 import com.github.marcelldechant.bistro.order.exception.QuantityException;
 import com.github.marcelldechant.bistro.order.mapper.OrderMapper;
+import com.github.marcelldechant.bistro.order.pricing.Money;
+import com.github.marcelldechant.bistro.order.pricing.PricingEngine;
+import com.github.marcelldechant.bistro.order.pricing.PricingResult;
 import com.github.marcelldechant.bistro.order.repository.OrderRepository;
+import com.github.marcelldechant.bistro.order.stream.OrderEventStream;
 import com.github.marcelldechant.bistro.order.util.TimeProvider;
+import com.github.marcelldechant.bistro.order.writer.OrderWriter;
 import com.github.marcelldechant.bistro.orderitem.dto.CreateOrderItemDto;
 import com.github.marcelldechant.bistro.orderitem.entity.OrderItem;
 import com.github.marcelldechant.bistro.orderitem.mapper.OrderItemMapper;
 import com.github.marcelldechant.bistro.product.entity.Product;
+import com.github.marcelldechant.bistro.product.exception.PaginationException;
+import com.github.marcelldechant.bistro.product.exception.ProductNotFoundException;
 import com.github.marcelldechant.bistro.product.service.ProductService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
-import java.time.LocalTime;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor
 public class OrderService {
-    private static final LocalTime HAPPY_HOUR_START = LocalTime.of(17, 0);
-    private static final LocalTime HAPPY_HOUR_END = LocalTime.of(19, 0);
-    private static final BigDecimal HAPPY_HOUR_DISCOUNT = BigDecimal.valueOf(0.10);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int TABLE_LOCK_STRIPES = 64;
+    private static final List<String> ITEM_COUNT_BUCKETS = List.of("0", "1", "2-5", "6-10", "11+");
 
     private final OrderRepository orderRepository;
+    private final OrderWriter orderWriter;
+    private final OrderReadModel orderReadModel;
+    private final OrderEventStream orderEventStream;
     private final ProductService productService;
     private final TimeProvider timeProvider;
+    private final PricingEngine pricingEngine;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer[][] createOrderTimers;
+    private final Map<String, Timer> failedCreateOrderTimers = new ConcurrentHashMap<>();
+    private final DistributionSummary orderItems;
+    private final Timer createOrdersTimer;
+
+    /*
+     * Appends and closes on the same table are serialized by one of a fixed set of locks, chosen by table number.
+     * Tables sharing a stripe occasionally wait for each other, which is cheaper than a lock per table or retrying
+     * optimistic version conflicts.
+     */
+    private final Lock[] tableLocks = Stream.generate(ReentrantLock::new)
+            .limit(TABLE_LOCK_STRIPES)
+            .toArray(Lock[]::new);
+
+    public OrderService(OrderRepository orderRepository,
+                        OrderWriter orderWriter,
+                        OrderReadModel orderReadModel,
+                        OrderEventStream orderEventStream,
+                        ProductService productService,
+                        TimeProvider timeProvider,
+                        PricingEngine pricingEngine,
+                        MeterRegistry meterRegistry,
+                        TransactionTemplate transactionTemplate) {
+        this.orderRepository = orderRepository;
+        this.orderWriter = orderWriter;
+        this.orderReadModel = orderReadModel;
+        this.orderEventStream = orderEventStream;
+        this.productService = productService;
+        this.timeProvider = timeProvider;
+        this.pricingEngine = pricingEngine;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.createOrderTimers = ITEM_COUNT_BUCKETS.stream()
+                .map(items -> new Timer[]{
+                        createOrderTimer(items, "false", "none"),
+                        createOrderTimer(items, "true", "none")
+                })
+                .toArray(Timer[][]::new);
+        this.orderItems = DistributionSummary.builder("bistro.order.items")
+                .description("Number of items per created order")
+                .register(meterRegistry);
+        this.createOrdersTimer = Timer.builder("bistro.order.batch.create")
+                .description("Time to validate, price and persist a batch of orders")
+                .register(meterRegistry);
+    }
 
     public OrderResponseDto createOrder(CreateOrderDto dto) {
-        List<OrderItem> items = buildOrderItems(dto.items());
-        BigDecimal subtotal = calculateSubtotal(items);
-        BigDecimal discount = calculateDiscount(subtotal);
-        BigDecimal total = subtotal.subtract(discount);
-        boolean isHappyHour = isHappyHour();
+        return createOrder(dto, saved -> {
+        });
+    }
+
+    /*
+     * Creates the order and runs inTransaction with the saved order in the transaction that commits it. The order's
+     * view is stored in that transaction as well, so with write-behind a whole group is projected in its commit.
+     */
+    public OrderResponseDto createOrder(CreateOrderDto dto, Consumer<Order> inTransaction) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int itemCount = itemCountBucket(dto.items().size());
+        try {
+            validateItems(dto.items());
+
+            Map<Long, Product> products = productService.getProductsByIds(
+                    dto.items().stream().map(CreateOrderItemDto::productId).toList()
+            );
+
+            Order order = buildOrder(dto, products);
+            Order saved = orderWriter.write(order, savedOrder -> {
+                orderReadModel.insert(savedOrder);
+                inTransaction.accept(savedOrder);
+            });
+            OrderResponseDto response = OrderMapper.toResponseDto(saved);
+            sample.stop(createOrderTimers[itemCount][order.isHappyHour() ? 1 : 0]);
+            orderItems.record(dto.items().size());
+            orderEventStream.publish(OrderEventStream.ORDER_CREATED, response);
+            return response;
+        } catch (RuntimeException e) {
+            sample.stop(failedCreateOrderTimer(itemCount, e.getClass().getSimpleName()));
+            throw e;
+        }
+    }
+
+    /*
+     * Every order's items are checked on their own first, so one malformed order gets its own 400 and does not fail
+     * the product lookup of the whole batch. The valid orders and their views are then saved in one transaction.
+     */
+    public List<BatchOrderResultDto> createOrders(List<CreateOrderDto> dtos) {
+        if (dtos.isEmpty()) {
+            throw new NoItemsException("Batch must contain at least one order");
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        BatchOrderResultDto[] results = new BatchOrderResultDto[dtos.size()];
+        List<Integer> validIndexes = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            try {
+                validateItems(dtos.get(i).items());
+                validIndexes.add(i);
+            } catch (NoItemsException | QuantityException e) {
+                results[i] = failedResult(i, HttpStatus.BAD_REQUEST, e);
+            } catch (DuplicateException e) {
+                results[i] = failedResult(i, HttpStatus.CONFLICT, e);
+            }
+        }
+
+        Map<Long, Product> products = productService.findProductsByIds(
+                validIndexes.stream()
+                        .flatMap(index -> dtos.get(index).items().stream())
+                        .map(CreateOrderItemDto::productId)
+                        .distinct()
+                        .toList()
+        );
+
+        List<Order> orders = new ArrayList<>(validIndexes.size());
+        List<Integer> orderIndexes = new ArrayList<>(validIndexes.size());
+        for (int index : validIndexes) {
+            CreateOrderDto dto = dtos.get(index);
+            try {
+                validateProductsExist(dto.items(), products);
+                orders.add(buildOrder(dto, products));
+                orderIndexes.add(index);
+            } catch (ProductNotFoundException e) {
+                results[index] = failedResult(index, HttpStatus.NOT_FOUND, e);
+            }
+        }
+
+        List<Order> savedOrders = orders.isEmpty() ? List.of() : transactionTemplate.execute(status -> {
+            List<Order> saved = orderRepository.saveAll(orders);
+            saved.forEach(orderReadModel::insert);
+            return saved;
+        });
+        sample.stop(createOrdersTimer);
+        for (int i = 0; i < savedOrders.size(); i++) {
+            int index = orderIndexes.get(i);
+            orderItems.record(dtos.get(index).items().size());
+            OrderResponseDto response = OrderMapper.toResponseDto(savedOrders.get(i));
+            results[index] = new BatchOrderResultDto(index, HttpStatus.CREATED.value(), response, null);
+            orderEventStream.publish(OrderEventStream.ORDER_CREATED, response);
+        }
+        return Arrays.asList(results);
+    }
+
+    /*
+     * Adds a round to an open tab. Only the new items are priced, at the time of the round, and their subtotal,
+     * discount and total are added to the tab's running amounts. A tab is an order, and a table may keep several open
+     * ones, e.g. for separate bills. Rounds are serialized per table, not per tab, so two waiters adding to tabs of the
+     * same table cannot interleave.
+     */
+    public OrderResponseDto appendItems(long id, List<CreateOrderItemDto> itemDtos) {
+        validateItems(itemDtos);
+        Map<Long, Product> products = productService.getProductsByIds(
+                itemDtos.stream().map(CreateOrderItemDto::productId).toList()
+        );
+
+        OrderResponseDto response = withTableLock(id, () -> {
+            Order order = getOrderByIdEntity(id);
+            requireOpen(order);
+
+            List<OrderItem> items = buildOrderItems(itemDtos, products);
+            PricingResult round = pricingEngine.price(items, timeProvider.dateTime());
+            mergeRound(order, items);
+            order.setDiscountRate(mergeDiscountRate(order, round));
+            order.setSubtotal(order.getSubtotal().plus(round.subtotal()));
+            order.setDiscount(order.getDiscount().plus(round.discount()));
+            order.setTotal(order.getTotal().plus(round.total()));
+            order.setHappyHour(order.isHappyHour() || round.isHappyHour());
 
-        Order order = OrderMapper.toEntity(dto.tableNumber(), items, subtotal, discount, total, isHappyHour);
-        return OrderMapper.toResponseDto(orderRepository.save(order));
+            /* Flushing assigns the ids of the new items before the view is rendered. */
+            orderRepository.flush();
+            orderReadModel.replace(order);
+            return OrderMapper.toResponseDto(order);
+        });
+        orderEventStream.publish(OrderEventStream.ITEMS_ADDED, response);
+        return response;
+    }
+
+    public OrderView closeOrder(long id) {
+        return withTableLock(id, () -> {
+            Order order = getOrderByIdEntity(id);
+            requireOpen(order);
+            order.setClosedAt(timeProvider.instant());
+            orderRepository.flush();
+            return orderReadModel.replace(order);
+        });
     }
 
     public OrderResponseDto getOrderById(long id) {
         return OrderMapper.toResponseDto(getOrderByIdEntity(id));
     }
 
+    public OrderPageDto getOrders(Instant from, Instant to, Long afterId, Integer limit) {
+        if (!from.isBefore(to)) {
+            throw new PaginationException("Parameter from must be before to");
+        }
+        int pageSize = resolvePageSize(limit);
+
+        Instant afterCreatedAt = from;
+        long afterIdBound = 0;
+        if (afterId != null) {
+            Instant cursor = orderRepository.findCreatedAtById(afterId)
+                    .orElseThrow(() -> new PaginationException("Unknown afterId: " + afterId));
+            if (!cursor.isBefore(from)) {
+                afterCreatedAt = cursor;
+                afterIdBound = afterId;
+            }
+        }
+
+        List<Long> ids = orderRepository.findPageIds(afterCreatedAt, afterIdBound, to, Limit.of(pageSize));
+        Map<Long, Order> ordersById = orderRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        List<OrderResponseDto> orders = ids.stream()
+                .map(id -> OrderMapper.toResponseDto(ordersById.get(id)))
+                .toList();
+
+        Long nextAfterId = ids.size() == pageSize ? ids.getLast() : null;
+        return new OrderPageDto(orders, nextAfterId);
+    }
+
+    public CompactOrderResponseDto getCompactOrderById(long id) {
+        List<CompactOrderRowDto> rows = orderRepository.findCompactRowsByOrderId(id);
+        if (rows.isEmpty()) {
+            throw new OrderNotFoundException("Order not found with id: " + id);
+        }
+        return OrderMapper.toCompactResponseDto(rows);
+    }
+
     public Order getOrderByIdEntity(long id) {
         return orderRepository.findById(id)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + id));
     }
 
-    private List<OrderItem> buildOrderItems(List<CreateOrderItemDto> itemDtos) {
-        if (itemDtos.isEmpty()) {
+    /*
+     * Resolves the table of the order first, so that all tabs of a table share one lock stripe.
+     */
+    private <T> T withTableLock(long orderId, Supplier<T> action) {
+        int tableNumber = orderRepository.findTableNumberById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
+        Lock lock = tableLocks[Math.floorMod(tableNumber, TABLE_LOCK_STRIPES)];
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> action.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * A product the tab already has at the same unit price is added to that line, so the receipt lists it once. If its
+     * catalog price changed in between, it gets a new line, as every line is its unit price times its quantity.
+     */
+    private static void mergeRound(Order order, List<OrderItem> round) {
+        for (OrderItem item : round) {
+            order.getItems().stream()
+                    .filter(line -> line.getProduct().getId().equals(item.getProduct().getId())
+                            && line.getPricePerUnit().equals(item.getPricePerUnit()))
+                    .findFirst()
+                    .ifPresentOrElse(line -> {
+                        line.setQuantity(line.getQuantity() + item.getQuantity());
+                        line.setTotalPrice(line.getTotalPrice().plus(item.getTotalPrice()));
+                    }, () -> order.getItems().add(item));
+        }
+    }
+
+    /*
+     * A tab keeps its rate while every round is discounted at the same rate. Once rounds differ, e.g. one inside and
+     * one outside the happy hour, only the effective rate of the summed amounts is left to print. Must run before the
+     * round is added to the tab.
+     */
+    private static Integer mergeDiscountRate(Order order, PricingResult round) {
+        boolean tabDiscounted = order.getDiscount().signum() > 0;
+        if (!tabDiscounted || Objects.equals(order.getDiscountRate(), round.discountRate())) {
+            return round.discountRate();
+        }
+        Money subtotal = order.getSubtotal().plus(round.subtotal());
+        Money discount = order.getDiscount().plus(round.discount());
+        return Money.rateOf(discount.timesBasisPoints(Money.BASIS_POINTS), subtotal);
+    }
+
+    private void requireOpen(Order order) {
+        if (!order.isOpen()) {
+            throw new OrderClosedException("Order " + order.getId() + " is already closed");
+        }
+    }
+
+    private Order buildOrder(CreateOrderDto dto, Map<Long, Product> products) {
+        List<OrderItem> items = buildOrderItems(dto.items(), products);
+        TimeProvider.Snapshot now = timeProvider.snapshot();
+        PricingResult pricing = pricingEngine.price(items, now.dateTime());
+
+        return OrderMapper.toEntity(dto.tableNumber(), items, pricing.subtotal(), pricing.discount(),
+                pricing.total(), pricing.isHappyHour(), pricing.discountRate(), now.instant());
+    }
+
+    private List<OrderItem> buildOrderItems(List<CreateOrderItemDto> itemDtos, Map<Long, Product> products) {
+        List<OrderItem> items = new ArrayList<>(itemDtos.size());
+        for (CreateOrderItemDto dto : itemDtos) {
+            items.add(OrderItemMapper.toEntity(dto, products.get(dto.productId())));
+        }
+        return items;
+    }
+
+    private void validateItems(List<CreateOrderItemDto> itemDtos) {
+        if (itemDtos == null || itemDtos.isEmpty()) {
             throw new NoItemsException("Order must contain at least one item");
         }
 
         validateNoDuplicateProducts(itemDtos);
+        validateQuantities(itemDtos);
+    }
 
-        List<OrderItem> items = new ArrayList<>();
-        for (CreateOrderItemDto dto : itemDtos) {
+    private void validateQuantities(List<CreateOrderItemDto> items) {
+        for (CreateOrderItemDto dto : items) {
             if (dto.quantity() <= 0) {
                 throw new QuantityException("Quantity must be greater than 0");
             }
-
-            Product product = productService.getProductByIdEntity(dto.productId());
-            items.add(OrderItemMapper.toEntity(dto, product));
         }
-        return items;
     }
 
     private void validateNoDuplicateProducts(List<CreateOrderItemDto> items) {
@@ -84,18 +395,55 @@ public class OrderService {
         }
     }
 
-    private BigDecimal calculateSubtotal(List<OrderItem> items) {
-        return items.stream()
-                .map(OrderItem::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private void validateProductsExist(List<CreateOrderItemDto> items, Map<Long, Product> products) {
+        List<Long> missingIds = items.stream()
+                .map(CreateOrderItemDto::productId)
+                .filter(id -> !products.containsKey(id))
+                .toList();
+
+        if (!missingIds.isEmpty()) {
+            throw ProductNotFoundException.forIds(missingIds);
+        }
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new PaginationException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
     }
 
-    private boolean isHappyHour() {
-        LocalTime now = timeProvider.now();
-        return !now.isBefore(HAPPY_HOUR_START) && now.isBefore(HAPPY_HOUR_END);
+    private BatchOrderResultDto failedResult(int index, HttpStatus status, RuntimeException e) {
+        return new BatchOrderResultDto(index, status.value(), null, e.getMessage());
     }
 
-    private BigDecimal calculateDiscount(BigDecimal subtotal) {
-        return isHappyHour() ? subtotal.multiply(HAPPY_HOUR_DISCOUNT) : BigDecimal.ZERO;
+    private Timer failedCreateOrderTimer(int itemCount, String exception) {
+        return failedCreateOrderTimers.computeIfAbsent(itemCount + ":" + exception,
+                key -> createOrderTimer(ITEM_COUNT_BUCKETS.get(itemCount), "unknown", exception));
+    }
+
+    private Timer createOrderTimer(String itemCount, String happyHour, String exception) {
+        return Timer.builder("bistro.order.create")
+                .description("Time to validate, price and persist a single order")
+                .tag("items", itemCount)
+                .tag("happy_hour", happyHour)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    private static int itemCountBucket(int itemCount) {
+        if (itemCount <= 1) {
+            return itemCount;
+        }
+        if (itemCount <= 5) {
+            return 2;
+        }
+        if (itemCount <= 10) {
+            return 3;
+        }
+        return 4;
     }
 }
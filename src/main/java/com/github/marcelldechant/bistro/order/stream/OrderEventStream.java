@@ -0,0 +1,235 @@
+package com.github.marcelldechant.bistro.order.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.marcelldechant.bistro.order.dto.OrderResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Fans order events out to Server-Sent Events subscribers such as kitchen displays. A publish serializes the order
+ * once, appends it to a small replay ring and offers it to every subscriber's bounded buffer without blocking. A
+ * fixed pool of dispatch threads drains the buffers, so the number of threads does not grow with the number of
+ * screens. A subscriber whose buffer is full is either disconnected, after which it reconnects with Last-Event-ID
+ * and catches up from the ring, or loses its oldest pending event, depending on the slow consumer policy. A write to a
+ * screen that stopped reading holds its dispatch thread for at most the server's write timeout
+ * (server.tomcat.connection-timeout). The write then fails, and the subscriber is removed like one that went away.
+ */
+@Slf4j
+@Component
+public class OrderEventStream {
+    public static final String ORDER_CREATED = "order-created";
+    public static final String ITEMS_ADDED = "items-added";
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final Duration timeout;
+    private final ExecutorService dispatcher;
+    private final Counter droppedEvents;
+    private final Counter disconnectedSubscribers;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Lock publishLock = new ReentrantLock();
+    private final OrderEvent[] replayRing;
+    private long lastEventId;
+
+    public OrderEventStream(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${order.stream.buffer-size:64}") int bufferSize,
+                            @Value("${order.stream.replay-size:256}") int replaySize,
+                            @Value("${order.stream.slow-consumer-policy:DISCONNECT}") SlowConsumerPolicy slowConsumerPolicy,
+                            @Value("${order.stream.timeout:30m}") Duration timeout,
+                            @Value("${order.stream.dispatch-threads:2}") int dispatchThreads) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        this.timeout = timeout;
+        this.replayRing = new OrderEvent[replaySize];
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, Thread.ofPlatform()
+                .name("order-stream-", 0)
+                .daemon(true)
+                .factory());
+        this.droppedEvents = Counter.builder("bistro.order.stream.dropped")
+                .description("Events discarded because a subscriber's buffer was full")
+                .register(meterRegistry);
+        this.disconnectedSubscribers = Counter.builder("bistro.order.stream.disconnected")
+                .description("Subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("bistro.order.stream.subscribers", subscribers, List::size)
+                .description("Currently connected order stream subscribers")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcher.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.getEmitter().complete();
+        }
+        subscribers.clear();
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        register(emitter, lastEventId);
+        return emitter;
+    }
+
+    /*
+     * Called once the write has committed. Failures are logged rather than thrown, because the order itself has
+     * already been stored and the client must still get its response.
+     */
+    public void publish(String name, OrderResponseDto order) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize order {} for the order stream", order.id(), e);
+            return;
+        }
+
+        publishLock.lock();
+        try {
+            OrderEvent event = new OrderEvent(++lastEventId, name, json);
+            replayRing[(int) (event.id() % replayRing.length)] = event;
+            for (Subscriber subscriber : subscribers) {
+                offer(subscriber, event);
+            }
+        } finally {
+            publishLock.unlock();
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            schedule(subscriber);
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /*
+     * Replaying and registering happen under the publish lock, so an event is either part of the replay or
+     * offered to the new subscriber afterwards, never both and never neither.
+     */
+    Subscriber register(SseEmitter emitter, Long lastEventId) {
+        Subscriber subscriber;
+        publishLock.lock();
+        try {
+            List<OrderEvent> missed = lastEventId == null ? List.of() : eventsAfter(lastEventId);
+            subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize + missed.size()));
+            subscriber.getQueue().addAll(missed);
+            subscribers.add(subscriber);
+        } finally {
+            publishLock.unlock();
+        }
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> subscribers.remove(subscriber));
+        schedule(subscriber);
+        return subscriber;
+    }
+
+    private List<OrderEvent> eventsAfter(long eventId) {
+        long first = Math.max(eventId + 1, lastEventId - replayRing.length + 1);
+        List<OrderEvent> events = new ArrayList<>();
+        for (long id = Math.max(first, 1); id <= lastEventId; id++) {
+            events.add(replayRing[(int) (id % replayRing.length)]);
+        }
+        return events;
+    }
+
+    private void offer(Subscriber subscriber, OrderEvent event) {
+        if (subscriber.isClosed() || subscriber.getQueue().offer(event)) {
+            return;
+        }
+        if (slowConsumerPolicy == SlowConsumerPolicy.DROP_OLDEST) {
+            subscriber.getQueue().poll();
+            subscriber.getQueue().offer(event);
+            droppedEvents.increment();
+        } else {
+            subscriber.close();
+            disconnectedSubscribers.increment();
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.getDraining().compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            OrderEvent event;
+            while (!subscriber.isClosed() && (event = subscriber.getQueue().poll()) != null) {
+                subscriber.getEmitter().send(SseEmitter.event()
+                        .id(Long.toString(event.id()))
+                        .name(event.name())
+                        .data(event.json(), MediaType.APPLICATION_JSON));
+            }
+            if (subscriber.isClosed() && subscribers.remove(subscriber)) {
+                subscriber.getEmitter().complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            /* The client went away or the write timed out; the container reports it to the emitter and completes it. */
+            subscriber.close();
+            subscribers.remove(subscriber);
+        } finally {
+            subscriber.getDraining().set(false);
+        }
+
+        /* Picks up an event or a disconnect that arrived after the last poll but before the flag was reset. */
+        if (subscribers.contains(subscriber) && (subscriber.isClosed() || !subscriber.getQueue().isEmpty())) {
+            schedule(subscriber);
+        }
+    }
+
+    public enum SlowConsumerPolicy {
+        DISCONNECT,
+        DROP_OLDEST
+    }
+
+    record OrderEvent(long id, String name, String json) {
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<OrderEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        void close() {
+            closed = true;
+        }
+    }
+}
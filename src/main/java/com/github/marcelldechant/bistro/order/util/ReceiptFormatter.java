@@ -1,36 +1,144 @@
 package com.github.marcelldechant.bistro.order.util;
 
 import com.github.marcelldechant.bistro.order.entity.Order;
+import com.github.marcelldechant.bistro.order.pricing.Money;
 import com.github.marcelldechant.bistro.orderitem.entity.OrderItem;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
 
 public class ReceiptFormatter {
     private static final String SEPARATOR_LINE = "-------------------------\n";
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final int ESTIMATED_LINE_LENGTH = 48;
+
+    private static volatile NumberSymbols cachedSymbols = NumberSymbols.of(Locale.getDefault(Locale.Category.FORMAT));
 
     private ReceiptFormatter() {
     }
 
     public static String format(Order order) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(SEPARATOR_LINE);
-        sb.append("Table Nr. ").append(order.getTableNumber()).append("\n");
-        sb.append(SEPARATOR_LINE);
+        StringBuilder sb = new StringBuilder((order.getItems().size() + 7) * ESTIMATED_LINE_LENGTH);
+        try {
+            render(order, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /*
+     * Writes the receipt straight into the given target without building intermediate strings. The output is
+     * identical to the former String.format based rendering ("%d x %s @ %.2f = %.2f%n"), including the locale
+     * specific decimal separator and digits.
+     */
+    public static void render(Order order, Appendable out) throws IOException {
+        NumberSymbols symbols = currentSymbols();
+
+        out.append(SEPARATOR_LINE);
+        out.append("Table Nr. ");
+        appendInteger(out, order.getTableNumber(), '0');
+        out.append('\n');
+        out.append(SEPARATOR_LINE);
 
         for (OrderItem item : order.getItems()) {
-            String name = item.getProduct().getName();
-            int qty = item.getQuantity();
-            BigDecimal unit = item.getPricePerUnit();
-            BigDecimal total = item.getTotalPrice();
+            appendInteger(out, item.getQuantity(), symbols.zeroDigit());
+            out.append(" x ");
+            out.append(item.getProduct().getName());
+            out.append(" @ ");
+            appendAmount(out, item.getPricePerUnit(), symbols);
+            out.append(" = ");
+            appendAmount(out, item.getTotalPrice(), symbols);
+            out.append(LINE_SEPARATOR);
+        }
 
-            sb.append(String.format("%d x %s @ %.2f = %.2f%n", qty, name, unit, total));
+        out.append(SEPARATOR_LINE);
+        out.append("Subtotal: ");
+        appendAmount(out, order.getSubtotal(), symbols);
+        out.append('\n');
+        if (order.isHappyHour() && order.getDiscount().signum() > 0 && order.getSubtotal().signum() > 0) {
+            out.append("Discount: ");
+            appendPercentage(out, discountRate(order), symbols);
+            out.append('%');
+            out.append(LINE_SEPARATOR);
         }
+        out.append("Total: ");
+        appendAmount(out, order.getTotal(), symbols);
+        out.append('\n');
+    }
 
-        sb.append(SEPARATOR_LINE);
-        sb.append(String.format("Subtotal: %.2f\n", order.getSubtotal()));
-        sb.append(order.isHappyHour() ? String.format("Discount: %s%n", "10%") : "");
-        sb.append(String.format("Total: %.2f\n", order.getTotal()));
+    private static void appendAmount(Appendable out, Money amount, NumberSymbols symbols) throws IOException {
+        if (amount.signum() < 0) {
+            out.append('-');
+        }
+        long cents = Math.abs(amount.cents());
+        appendDigits(out, cents / 100, symbols.zeroDigit());
+        out.append(symbols.decimalSeparator());
+        long fraction = cents % 100;
+        out.append((char) (symbols.zeroDigit() + fraction / 10));
+        out.append((char) (symbols.zeroDigit() + fraction % 10));
+    }
 
-        return sb.toString();
+    /*
+     * Orders stored before the applied rate was recorded fall back to the rate of the rounded amounts.
+     */
+    private static int discountRate(Order order) {
+        if (order.getDiscountRate() != null) {
+            return order.getDiscountRate();
+        }
+        return Money.rateOf(order.getDiscount().timesBasisPoints(Money.BASIS_POINTS), order.getSubtotal());
+    }
+
+    /*
+     * Prints a rate in basis points with at most two fraction digits, e.g. "10%" or "12.5%". Digits stay ASCII like
+     * the table number, matching the former literal "10%".
+     */
+    private static void appendPercentage(Appendable out, long hundredths, NumberSymbols symbols) throws IOException {
+        appendDigits(out, hundredths / 100, '0');
+        long fraction = hundredths % 100;
+        if (fraction != 0) {
+            out.append(symbols.decimalSeparator());
+            out.append((char) ('0' + fraction / 10));
+            if (fraction % 10 != 0) {
+                out.append((char) ('0' + fraction % 10));
+            }
+        }
+    }
+
+    private static void appendInteger(Appendable out, long value, char zeroDigit) throws IOException {
+        if (value < 0) {
+            out.append('-');
+            value = -value;
+        }
+        appendDigits(out, value, zeroDigit);
+    }
+
+    private static void appendDigits(Appendable out, long value, char zeroDigit) throws IOException {
+        long divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) (zeroDigit + (value / divisor) % 10));
+        }
+    }
+
+    private static NumberSymbols currentSymbols() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        NumberSymbols symbols = cachedSymbols;
+        if (!symbols.locale().equals(locale)) {
+            symbols = NumberSymbols.of(locale);
+            cachedSymbols = symbols;
+        }
+        return symbols;
+    }
+
+    private record NumberSymbols(Locale locale, char zeroDigit, char decimalSeparator) {
+        static NumberSymbols of(Locale locale) {
+            DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+            return new NumberSymbols(locale, symbols.getZeroDigit(), symbols.getDecimalSeparator());
+        }
     }
 }
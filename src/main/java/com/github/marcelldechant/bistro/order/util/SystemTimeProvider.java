@@ -2,12 +2,33 @@ package com.github.marcelldechant.bistro.order.util;
 
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Component
 public class SystemTimeProvider implements TimeProvider {
+    private final Clock clock = Clock.systemDefaultZone();
+
     @Override
     public LocalTime now() {
-        return LocalTime.now();
+        return LocalTime.now(clock);
+    }
+
+    @Override
+    public LocalDateTime dateTime() {
+        return LocalDateTime.now(clock);
+    }
+
+    @Override
+    public Snapshot snapshot() {
+        Instant instant = clock.instant();
+        return new Snapshot(LocalDateTime.ofInstant(instant, clock.getZone()), instant);
+    }
+
+    @Override
+    public Clock clock() {
+        return clock;
     }
 }
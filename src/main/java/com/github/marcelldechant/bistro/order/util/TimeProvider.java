@@ -1,7 +1,34 @@
 package com.github.marcelldechant.bistro.order.util;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 public interface TimeProvider {
     LocalTime now();
+
+    default LocalDateTime dateTime() {
+        return LocalDateTime.of(LocalDate.now(clock()), now());
+    }
+
+    default Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+
+    default Instant instant() {
+        return clock().instant();
+    }
+
+    /*
+     * The local date and time and the instant of one moment, for callers that store both. The system provider derives
+     * them from a single clock read, so they cannot fall on different sides of a boundary such as a happy hour.
+     */
+    default Snapshot snapshot() {
+        return new Snapshot(dateTime(), instant());
+    }
+
+    record Snapshot(LocalDateTime dateTime, Instant instant) {
+    }
 }
@@ -0,0 +1,27 @@
+package com.github.marcelldechant.bistro.order.writer;
+
+import com.github.marcelldechant.bistro.order.entity.Order;
+import com.github.marcelldechant.bistro.order.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.write-behind.enabled", havingValue = "false", matchIfMissing = true)
+public class DirectOrderWriter implements OrderWriter {
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public Order write(Order order, Consumer<Order> inTransaction) {
+        return transactionTemplate.execute(status -> {
+            Order saved = orderRepository.save(order);
+            inTransaction.accept(saved);
+            return saved;
+        });
+    }
+}
@@ -0,0 +1,228 @@
+package com.github.marcelldechant.bistro.order.writer;
+
+import com.github.marcelldechant.bistro.order.entity.Order;
+import com.github.marcelldechant.bistro.order.exception.OrderCommitTimeoutException;
+import com.github.marcelldechant.bistro.order.exception.OrderQueueFullException;
+import com.github.marcelldechant.bistro.order.repository.OrderRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/*
+ * Write-behind persistence: request threads enqueue priced orders and block until a single writer thread has
+ * committed the group containing their order. A group is flushed when it reaches max-batch-size orders or when
+ * max-delay has passed since its first order, in one transaction with JDBC-batched inserts. The inTransaction
+ * callbacks of the group run in that transaction once its orders are saved. The caller only sees its order after
+ * the commit, so durability towards the client is the same as with DirectOrderWriter. If a group fails, its orders
+ * are retried one by one, so a single bad order only fails its own request. A caller waits at most commit-timeout
+ * for its group, and orders still queued when the writer stops are failed instead of left waiting.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.write-behind.enabled", havingValue = "true")
+public class GroupCommitOrderWriter implements OrderWriter {
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingOrder> queue;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Duration enqueueTimeout;
+    private final Duration commitTimeout;
+    private final DistributionSummary groupSize;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    public GroupCommitOrderWriter(OrderRepository orderRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${order.write-behind.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${order.write-behind.max-batch-size:100}") int maxBatchSize,
+                                  @Value("${order.write-behind.max-delay:5ms}") Duration maxDelay,
+                                  @Value("${order.write-behind.enqueue-timeout:1s}") Duration enqueueTimeout,
+                                  @Value("${order.write-behind.commit-timeout:10s}") Duration commitTimeout) {
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.enqueueTimeout = enqueueTimeout;
+        this.commitTimeout = commitTimeout;
+        this.groupSize = DistributionSummary.builder("bistro.order.group.commit.size")
+                .description("Orders persisted per group commit")
+                .register(meterRegistry);
+        this.writerThread = Thread.ofPlatform()
+                .name("order-group-commit")
+                .daemon(true)
+                .unstarted(this::writeLoop);
+    }
+
+    @PostConstruct
+    public void start() {
+        writerThread.start();
+        log.info("Write-behind order persistence enabled (max {} orders or {} ms per group)",
+                maxBatchSize, TimeUnit.NANOSECONDS.toMillis(maxDelayNanos));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writerThread.join();
+        failQueued();
+    }
+
+    @Override
+    public Order write(Order order, Consumer<Order> inTransaction) {
+        PendingOrder pending = new PendingOrder(order, inTransaction, new CompletableFuture<>());
+        try {
+            if (!running || !queue.offer(pending, enqueueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new OrderQueueFullException("Order queue is full, please retry later");
+            }
+            if (!running && queue.remove(pending)) {
+                throw new OrderQueueFullException("Order writer is shutting down, please retry later");
+            }
+            return pending.committed().get(commitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrderQueueFullException("Interrupted while waiting for the order queue");
+        } catch (TimeoutException e) {
+            throw new OrderCommitTimeoutException(
+                    "Order was not confirmed within " + commitTimeout.toMillis() + " ms, its outcome is unknown");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingOrder> group = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                collectGroup(group);
+                if (!group.isEmpty()) {
+                    commit(group);
+                    group.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running = false;
+            fail(group);
+            failQueued();
+        }
+    }
+
+    private void collectGroup(List<PendingOrder> group) throws InterruptedException {
+        PendingOrder first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        group.add(first);
+
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (group.size() < maxBatchSize) {
+            if (queue.drainTo(group, maxBatchSize - group.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+
+    private void commit(List<PendingOrder> group) {
+        List<Order> orders = new ArrayList<>(group.size());
+        for (PendingOrder pending : group) {
+            orders.add(pending.order());
+        }
+
+        try {
+            List<Order> saved = transactionTemplate.execute(status -> {
+                List<Order> savedOrders = orderRepository.saveAll(orders);
+                for (int i = 0; i < group.size(); i++) {
+                    group.get(i).inTransaction().accept(savedOrders.get(i));
+                }
+                return savedOrders;
+            });
+            groupSize.record(group.size());
+            for (int i = 0; i < group.size(); i++) {
+                group.get(i).committed().complete(saved.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                log.error("Commit of a single order failed", e);
+                group.getFirst().committed().completeExceptionally(e);
+                return;
+            }
+            log.warn("Group commit of {} orders failed, retrying them one by one", group.size(), e);
+            for (PendingOrder pending : group) {
+                commitAlone(pending);
+            }
+        }
+    }
+
+    /*
+     * The failed group transaction has already assigned sequence ids, which would make save() merge instead of
+     * insert, so they are cleared first.
+     */
+    private void commitAlone(PendingOrder pending) {
+        Order order = pending.order();
+        order.setId(null);
+        order.getItems().forEach(item -> item.setId(null));
+        try {
+            Order saved = transactionTemplate.execute(status -> {
+                Order savedOrder = orderRepository.save(order);
+                pending.inTransaction().accept(savedOrder);
+                return savedOrder;
+            });
+            groupSize.record(1);
+            pending.committed().complete(saved);
+        } catch (RuntimeException e) {
+            log.error("Commit of order for table {} failed", order.getTableNumber(), e);
+            pending.committed().completeExceptionally(e);
+        }
+    }
+
+    private void failQueued() {
+        List<PendingOrder> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        fail(remaining);
+    }
+
+    private static void fail(List<PendingOrder> pendingOrders) {
+        for (PendingOrder pending : pendingOrders) {
+            pending.committed().completeExceptionally(
+                    new OrderQueueFullException("Order writer has stopped, please retry later"));
+        }
+    }
+
+    private record PendingOrder(Order order, Consumer<Order> inTransaction, CompletableFuture<Order> committed) {
+    }
+}
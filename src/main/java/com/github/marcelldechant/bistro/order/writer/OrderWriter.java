@@ -0,0 +1,21 @@
+package com.github.marcelldechant.bistro.order.writer;
+
+import com.github.marcelldechant.bistro.order.entity.Order;
+
+import java.util.function.Consumer;
+
+public interface OrderWriter {
+    /*
+     * Persists the order and returns the saved entity once it has been committed.
+     */
+    default Order write(Order order) {
+        return write(order, saved -> {
+        });
+    }
+
+    /*
+     * Like write(Order), but also runs inTransaction with the saved order inside the transaction that commits it,
+     * so rows that must exist together with the order are stored or rolled back with it.
+     */
+    Order write(Order order, Consumer<Order> inTransaction);
+}
@@ -0,0 +1,13 @@
+package com.github.marcelldechant.bistro.orderitem.dto;
+
+import java.math.BigDecimal;
+
+public record CompactOrderItemResponseDto(
+        Long id,
+        Long productId,
+        String productName,
+        int quantity,
+        BigDecimal pricePerUnit,
+        BigDecimal totalPrice
+) {
+}
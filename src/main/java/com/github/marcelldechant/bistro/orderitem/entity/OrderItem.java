@@ -1,5 +1,6 @@
 package com.github.marcelldechant.bistro.orderitem.entity;
 
+import com.github.marcelldechant.bistro.order.pricing.Money;
 import com.github.marcelldechant.bistro.product.entity.Product;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
@@ -8,7 +9,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 
 @AllArgsConstructor
 @NoArgsConstructor
@@ -17,10 +17,11 @@ import java.math.BigDecimal;
 @Entity
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_item_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     private Product product;
 
     @Min(value = 1, message = "Quantity must be greater than 0")
@@ -28,8 +29,8 @@ public class OrderItem {
     private int quantity;
 
     @Column(nullable = false, precision = 7, scale = 2)
-    private BigDecimal pricePerUnit;
+    private Money pricePerUnit;
 
     @Column(nullable = false, precision = 7, scale = 2)
-    private BigDecimal totalPrice;
+    private Money totalPrice;
 }
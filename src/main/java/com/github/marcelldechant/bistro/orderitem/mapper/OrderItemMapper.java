@@ -1,22 +1,23 @@
 package com.github.marcelldechant.bistro.orderitem.mapper;
 
+import com.github.marcelldechant.bistro.order.pricing.Money;
 import com.github.marcelldechant.bistro.orderitem.dto.CreateOrderItemDto;
 import com.github.marcelldechant.bistro.orderitem.dto.OrderItemResponseDto;
 import com.github.marcelldechant.bistro.orderitem.entity.OrderItem;
 import com.github.marcelldechant.bistro.product.entity.Product;
 
-import java.math.BigDecimal;
 
 public class OrderItemMapper {
     private OrderItemMapper() {
     }
 
     public static OrderItem toEntity(CreateOrderItemDto dto, Product product) {
+        Money pricePerUnit = Money.of(product.getPrice());
         return OrderItem.builder()
                 .product(product)
                 .quantity(dto.quantity())
-                .pricePerUnit(product.getPrice())
-                .totalPrice(calculateTotalPrice(dto.quantity(), product))
+                .pricePerUnit(pricePerUnit)
+                .totalPrice(pricePerUnit.times(dto.quantity()))
                 .build();
     }
 
@@ -25,12 +26,8 @@ public class OrderItemMapper {
                 entity.getId(),
                 entity.getProduct(),
                 entity.getQuantity(),
-                entity.getPricePerUnit(),
-                entity.getTotalPrice()
+                entity.getPricePerUnit().toBigDecimal(),
+                entity.getTotalPrice().toBigDecimal()
         );
     }
-
-    private static BigDecimal calculateTotalPrice(int quantity, Product product) {
-        return product.getPrice().multiply(BigDecimal.valueOf(quantity));
-    }
 }
@@ -1,23 +1,40 @@
 package com.github.marcelldechant.bistro.product.api;
 
 import com.github.marcelldechant.bistro.exception.dto.CustomApiErrorResponseDto;
+import com.github.marcelldechant.bistro.product.dto.ProductCacheStatsDto;
 import com.github.marcelldechant.bistro.product.dto.ProductResponseDto;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 public interface ProductApi {
     @Operation(
             summary = "Get all products",
-            description = "Returns a list of all available products",
+            description = "Returns the available products ordered by ID. Without parameters the whole catalog is "
+                    + "returned. Use page/size for offset pagination or afterId/size for keyset pagination, where "
+                    + "afterId is the ID of the last product of the previous page. page and afterId cannot be combined. "
+                    + "The whole catalog carries a strong ETag that changes with every product write. Send it back in "
+                    + "If-None-Match to get 304 Not Modified while the catalog is unchanged. CBOR and Smile "
+                    + "representations have ETags of their own.",
+            parameters = {
+                    @Parameter(name = "page", description = "Zero-based page index", example = "0"),
+                    @Parameter(name = "size", description = "Page size between 1 and 1000, defaults to 50", example = "50"),
+                    @Parameter(name = "afterId", description = "Return only products with an ID greater than this one", example = "50")
+            },
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -41,6 +58,26 @@ public interface ProductApi {
                                             """)
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "The catalog still matches the ETag given in If-None-Match"
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid pagination parameters",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CustomApiErrorResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "message": "Parameters page and afterId cannot be combined",
+                                              "path": "/api/v1/products",
+                                              "timestamp": "2025-07-25T22:18:45.123Z",
+                                              "statusCode": 400
+                                            }
+                                            """)
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "500",
                             description = "Internal server error",
@@ -60,7 +97,36 @@ public interface ProductApi {
             }
     )
     @GetMapping
-    List<ProductResponseDto> getAllProducts();
+    ResponseEntity<?> getAllProducts(@RequestParam(required = false) Integer page,
+                                     @RequestParam(required = false) Integer size,
+                                     @RequestParam(required = false) Long afterId,
+                                     @Parameter(hidden = true)
+                                     @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+                                     @Parameter(hidden = true)
+                                     @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                     String acceptEncoding);
+
+    @Operation(
+            summary = "Stream all products",
+            description = "Streams the whole catalog ordered by ID as newline-delimited JSON. Rows are written as they "
+                    + "are read from the database cursor, so the catalog is never held in memory as a whole.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful operation",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = ProductResponseDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {"id":1,"name":"Pizza Margherita","price":8.50}
+                                            {"id":2,"name":"Cola","price":2.50}
+                                            """)
+                            )
+                    )
+            }
+    )
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> streamAllProducts();
 
     @Operation(
             summary = "Get product by ID",
@@ -117,4 +183,29 @@ public interface ProductApi {
     )
     @GetMapping("/{id}")
     ProductResponseDto getProductById(@PathVariable long id);
+
+    @Operation(
+            summary = "Get product cache statistics",
+            description = "Returns hit, miss and eviction counters of the in-memory product catalog cache",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful operation",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ProductCacheStatsDto.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                              "hitCount": 42,
+                                              "missCount": 7,
+                                              "evictionCount": 0,
+                                              "size": 7
+                                            }
+                                            """)
+                            )
+                    )
+            }
+    )
+    @GetMapping("/cache/stats")
+    ProductCacheStatsDto getCacheStats();
 }
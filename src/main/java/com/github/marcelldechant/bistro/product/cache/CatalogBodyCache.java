@@ -0,0 +1,98 @@
+package com.github.marcelldechant.bistro.product.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/*
+ * Holds the serialized catalog for the current catalog version. Every product write bumps the version once its
+ * transaction has committed, so a body rendered from the new data can never be stored under the old version. The
+ * ETag combines the version with the start time of this instance, because the counter restarts at zero and a
+ * persistent catalog may have changed in between.
+ */
+@Component
+public class CatalogBodyCache {
+    private final ObjectMapper objectMapper;
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+    private final Lock renderLock = new ReentrantLock();
+    private volatile CatalogBody body;
+
+    public CatalogBodyCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public CatalogBody get(Supplier<?> catalog) {
+        CatalogBody cached = body;
+        if (cached != null && cached.version() == version.get()) {
+            return cached;
+        }
+
+        renderLock.lock();
+        try {
+            long current = version.get();
+            cached = body;
+            if (cached != null && cached.version() == current) {
+                return cached;
+            }
+            Object products = catalog.get();
+            CatalogBody rendered =
+                    new CatalogBody(current, eTag(current), products, objectMapper.writeValueAsBytes(products));
+            body = rendered;
+            return rendered;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            renderLock.unlock();
+        }
+    }
+
+    public void markChanged() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version.incrementAndGet();
+            }
+        });
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    private String eTag(long version) {
+        return "\"" + instanceTag + "-" + version + "\"";
+    }
+
+    /*
+     * Keeps the products next to their JSON, so other representations of the same snapshot (CBOR, Smile, gzip) can
+     * be encoded on first request and then reused until the catalog changes.
+     */
+    public record CatalogBody(long version, String eTag, Object products, byte[] json, Map<String, byte[]> encodings) {
+        public CatalogBody(long version, String eTag, Object products, byte[] json) {
+            this(version, eTag, products, json, new ConcurrentHashMap<>());
+        }
+
+        public byte[] encoding(String variant, Supplier<byte[]> encoder) {
+            return encodings.computeIfAbsent(variant, key -> encoder.get());
+        }
+
+        public String eTag(String variant) {
+            return eTag.substring(0, eTag.length() - 1) + "-" + variant + "\"";
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.marcelldechant.bistro.product.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.marcelldechant.bistro.product.dto.ProductCacheStatsDto;
+import com.github.marcelldechant.bistro.product.entity.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+public class ProductCache {
+    private final Cache<Long, Product> cache;
+
+    public ProductCache(@Value("${product.cache.maximum-size:10000}") long maximumSize,
+                        @Value("${product.cache.time-to-live:10m}") Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Product> get(long id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    public Map<Long, Product> getAll(Collection<Long> ids) {
+        return cache.getAllPresent(ids);
+    }
+
+    public void put(Product product) {
+        cache.put(product.getId(), product);
+    }
+
+    public void putAll(Collection<Product> products) {
+        products.forEach(this::put);
+    }
+
+    /*
+     * Products changed in a transaction are cached only once it has committed, so a rollback never leaves prices in
+     * the cache that the database does not have.
+     */
+    public void putAllAfterCommit(Collection<Product> products) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            putAll(products);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                putAll(products);
+            }
+        });
+    }
+
+    public ProductCacheStatsDto stats() {
+        CacheStats stats = cache.stats();
+        return new ProductCacheStatsDto(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                cache.estimatedSize()
+        );
+    }
+}
@@ -1,27 +1,122 @@
 package com.github.marcelldechant.bistro.product.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.github.marcelldechant.bistro.product.api.ProductApi;
+import com.github.marcelldechant.bistro.product.cache.CatalogBodyCache.CatalogBody;
+import com.github.marcelldechant.bistro.product.dto.ProductCacheStatsDto;
 import com.github.marcelldechant.bistro.product.dto.ProductResponseDto;
 import com.github.marcelldechant.bistro.product.service.ProductService;
+import com.github.marcelldechant.bistro.web.ApiMediaTypes;
+import com.github.marcelldechant.bistro.web.ResponseCompression;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 @RestController
-@RequestMapping(value = "/api/v1/products", produces = "application/json")
+@RequestMapping(value = "/api/v1/products", produces = {
+        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ApiMediaTypes.APPLICATION_SMILE_VALUE
+})
 @RequiredArgsConstructor
 public class ProductController implements ProductApi {
     private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final MappingJackson2CborHttpMessageConverter cborConverter;
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+    private final ResponseCompression responseCompression;
 
     @Override
-    public List<ProductResponseDto> getAllProducts() {
-        return productService.getAllProducts();
+    public ResponseEntity<?> getAllProducts(Integer page, Integer size, Long afterId, String accept,
+                                            String acceptEncoding) {
+        if (page != null || size != null || afterId != null) {
+            return ResponseEntity.ok(productService.getProducts(page, size, afterId));
+        }
+
+        /*
+         * Spring answers 304 itself when If-None-Match matches, but only after the body below has been built. A cold
+         * cache, or a representation not requested before, is therefore still read and encoded once; an unchanged,
+         * cached catalog only costs the lookup.
+         */
+        CatalogBody catalog = productService.getCatalog();
+        MediaType mediaType = ApiMediaTypes.preferredObjectMediaType(accept);
+        String variant = "";
+        byte[] body = catalog.json();
+        if (!mediaType.equals(MediaType.APPLICATION_JSON)) {
+            variant = mediaType.getSubtype();
+            body = catalog.encoding(variant, () -> encode(mediaType, catalog.products()));
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(mediaType);
+        if (responseCompression.shouldGzip(body.length, acceptEncoding)) {
+            byte[] uncompressed = body;
+            variant = variant.isEmpty() ? "gzip" : variant + "-gzip";
+            body = catalog.encoding(variant, () -> ResponseCompression.gzip(uncompressed));
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response
+                .eTag(variant.isEmpty() ? catalog.eTag() : catalog.eTag(variant))
+                .body(body);
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+        ObjectWriter writer = objectMapper
+                .writerFor(ProductResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                productService.streamAllProducts(product -> writeLine(writer, generator, product));
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @Override
     public ProductResponseDto getProductById(long id) {
         return productService.getProductById(id);
     }
+
+    @Override
+    public ProductCacheStatsDto getCacheStats() {
+        return productService.getCatalogCacheStats();
+    }
+
+    private byte[] encode(MediaType mediaType, Object products) {
+        ObjectMapper mapper = mediaType.equals(MediaType.APPLICATION_CBOR)
+                ? cborConverter.getObjectMapper()
+                : smileConverter.getObjectMapper();
+        try {
+            return mapper.writeValueAsBytes(products);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(ObjectWriter writer, JsonGenerator generator, ProductResponseDto product) {
+        try {
+            writer.writeValue(generator, product);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,9 @@
+package com.github.marcelldechant.bistro.product.dto;
+
+public record ProductCacheStatsDto(
+        long hitCount,
+        long missCount,
+        long evictionCount,
+        long size
+) {
+}
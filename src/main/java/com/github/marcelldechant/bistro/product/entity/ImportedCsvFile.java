@@ -0,0 +1,30 @@
+package com.github.marcelldechant.bistro.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "imported_csv_files")
+public class ImportedCsvFile {
+    @Id
+    @Column(length = 255)
+    private String fileName;
+
+    @Column(nullable = false)
+    private long lastModified;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false)
+    private Instant importedAt;
+}
@@ -1,7 +0,0 @@
-package com.github.marcelldechant.bistro.product.exception;
-
-public class FileReadException extends RuntimeException {
-    public FileReadException(String message, Throwable cause) {
-        super(message, cause);
-    }
-}
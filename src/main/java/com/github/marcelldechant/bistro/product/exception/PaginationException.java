@@ -0,0 +1,7 @@
+package com.github.marcelldechant.bistro.product.exception;
+
+public class PaginationException extends RuntimeException {
+    public PaginationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.github.marcelldechant.bistro.product.exception;
+
+public class ProductAlreadyExistsException extends RuntimeException {
+    public ProductAlreadyExistsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,7 +1,15 @@
 package com.github.marcelldechant.bistro.product.exception;
 
+import java.util.List;
+
 public class ProductNotFoundException extends RuntimeException {
     public ProductNotFoundException(String message) {
         super(message);
     }
+
+    public static ProductNotFoundException forIds(List<Long> ids) {
+        return ids.size() == 1
+                ? new ProductNotFoundException("Product not found with id: " + ids.getFirst())
+                : new ProductNotFoundException("Products not found with ids: " + ids);
+    }
 }
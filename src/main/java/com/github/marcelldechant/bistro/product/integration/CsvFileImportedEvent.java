@@ -0,0 +1,12 @@
+package com.github.marcelldechant.bistro.product.integration;
+
+import java.time.Duration;
+
+public record CsvFileImportedEvent(
+        String fileName,
+        long persistedRows,
+        long unchangedRows,
+        long rejectedRows,
+        Duration duration
+) {
+}
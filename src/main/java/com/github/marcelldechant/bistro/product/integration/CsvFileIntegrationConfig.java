@@ -1,23 +1,30 @@
 package com.github.marcelldechant.bistro.product.integration;
 
 import com.github.marcelldechant.bistro.product.dto.CreateProductDto;
-import com.github.marcelldechant.bistro.product.exception.FileReadException;
-import com.github.marcelldechant.bistro.product.service.ProductService;
+import jakarta.annotation.PreDestroy;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.integration.config.EnableIntegration;
-import org.springframework.integration.core.GenericHandler;
 import org.springframework.integration.dsl.IntegrationFlow;
 import org.springframework.integration.dsl.Pollers;
+import org.springframework.integration.file.FileHeaders;
 import org.springframework.integration.file.dsl.Files;
+import org.springframework.integration.file.filters.ChainFileListFilter;
+import org.springframework.integration.file.filters.SimplePatternFileListFilter;
+import org.springframework.integration.file.splitter.FileSplitter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.StringUtils;
 
 import java.io.File;
-import java.util.Objects;
+import java.nio.charset.StandardCharsets;
 import java.util.Set;
 
 @Configuration
@@ -28,41 +35,115 @@ public class CsvFileIntegrationConfig {
     @Value("${csv.input-directory}")
     private String inputDirectory;
 
+    @Value("${csv.import.parallelism:4}")
+    private int parallelism;
+
+    @Value("${csv.import.max-in-flight-files:8}")
+    private int maxInFlightFiles;
+
     private final Validator validator;
+    private final Environment environment;
+
+    private final ThreadPoolTaskExecutor importExecutor = new ThreadPoolTaskExecutor();
+    private final ThreadPoolTaskScheduler pollerScheduler = new ThreadPoolTaskScheduler();
 
+    /*
+     * Files are handed to the import executor, so several files are parsed, validated and persisted concurrently
+     * while all lines of one file stay on one worker thread and are therefore persisted in file order. The executor
+     * is deliberately not a bean, as any Executor bean would replace Boot's applicationTaskExecutor. Per-file state is
+     * keyed by the absolute path, so files with the same name in different directories never share a chunk.
+     * The adapter polls on its own scheduler thread: handing a file over blocks while max-in-flight-files are
+     * queued, and on Boot's shared taskScheduler that would also hold back every other scheduled job.
+     */
     @Bean
-    public IntegrationFlow fileReadingFlow(CsvToProductTransformer transformer, ProductService productService) {
+    public IntegrationFlow fileReadingFlow(CsvToProductTransformer transformer,
+                                           CsvProductBatchWriter batchWriter,
+                                           CsvImportMetrics metrics,
+                                           CsvImportLedger ledger) {
 
         return IntegrationFlow
                 .from(Files.inboundAdapter(new File(inputDirectory))
-                                .patternFilter("*.csv")
-                                .preventDuplicates(true),
-                        e -> e.poller(Pollers.fixedDelay(5000)))
+                                .filter(new ChainFileListFilter<File>()
+                                        .addFilter(new SimplePatternFileListFilter("*.csv"))
+                                        .addFilter(ledger)),
+                        e -> e.poller(Pollers.fixedDelay(5000).maxMessagesPerPoll(-1))
+                                .taskScheduler(csvPollerScheduler()))
+                .channel(c -> c.executor("csvFileChannel", csvImportExecutor()))
                 .transform(File.class, file -> {
                     log.info("Importing CSV file: {}", file.getName());
-                    try {
-                        return java.nio.file.Files.readString(file.toPath());
-                    } catch (Exception e) {
-                        log.error("Failed to read file: {}", file.getName(), e);
-                        throw new FileReadException("Failed to read file", e);
-                    }
+                    return file;
                 })
-                .split(String.class, s -> s.split("\n"))
-                .filter(line -> {
-                    String trimmed = ((String) line).trim();
-                    return !trimmed.isEmpty() && !trimmed.startsWith("name");
-                })
-                .transform(transformer)
-                .filter(Objects::nonNull)
-                .handle((GenericHandler<CreateProductDto>) (product, headers) -> {
-                    if (!isValid(product)) return null;
-                    productService.createProduct(product);
-                    return null;
-                })
-                .channel("nullChannel")
+                .split(Files.splitter(true, true)
+                        .charset(StandardCharsets.UTF_8))
+                .<Object, Boolean>route(FileSplitter.FileMarker.class::isInstance, router -> router
+                        .subFlowMapping(true, markers -> markers
+                                .handle(FileSplitter.FileMarker.class, (marker, headers) -> {
+                                    File file = headers.get(FileHeaders.ORIGINAL_FILE, File.class);
+                                    if (marker.getMark() == FileSplitter.FileMarker.Mark.START) {
+                                        batchWriter.startFile(file, CsvImportLedger.Fingerprint.of(file));
+                                    } else {
+                                        batchWriter.finishFile(file);
+                                    }
+                                    return null;
+                                }))
+                        .subFlowMapping(false, lines -> lines
+                                .filter(line -> {
+                                    String trimmed = ((String) line).trim();
+                                    return !trimmed.isEmpty() && !trimmed.startsWith("name");
+                                })
+                                .handle(String.class, (line, headers) -> {
+                                    metrics.rowRead();
+                                    CreateProductDto product = transformer.transform(
+                                            StringUtils.commaDelimitedListToStringArray(line));
+                                    File file = headers.get(FileHeaders.ORIGINAL_FILE, File.class);
+                                    if (product == null) {
+                                        metrics.rowRejectedByTransformer();
+                                        batchWriter.reject(file);
+                                        return null;
+                                    }
+                                    if (!isValid(product)) {
+                                        metrics.rowRejectedByValidator();
+                                        batchWriter.reject(file);
+                                        return null;
+                                    }
+                                    batchWriter.add(file, product);
+                                    return null;
+                                })))
                 .get();
     }
 
+    @PreDestroy
+    public void shutdownImportExecutor() {
+        pollerScheduler.shutdown();
+        importExecutor.shutdown();
+    }
+
+    private ThreadPoolTaskScheduler csvPollerScheduler() {
+        pollerScheduler.setPoolSize(1);
+        pollerScheduler.setThreadNamePrefix("csv-poller-");
+        pollerScheduler.initialize();
+        return pollerScheduler;
+    }
+
+    /*
+     * In virtual-thread mode the workers are virtual threads as well. The pool still caps them at the configured
+     * parallelism, which bounds the number of concurrent imports and database connections.
+     */
+    private InFlightLimitingExecutor csvImportExecutor() {
+        if (parallelism < 1 || maxInFlightFiles < parallelism) {
+            throw new IllegalStateException("csv.import.parallelism (" + parallelism
+                    + ") must be at least 1 and csv.import.max-in-flight-files (" + maxInFlightFiles
+                    + ") at least the parallelism");
+        }
+        importExecutor.setCorePoolSize(parallelism);
+        importExecutor.setMaxPoolSize(parallelism);
+        importExecutor.setThreadNamePrefix("csv-import-");
+        importExecutor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        importExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        importExecutor.initialize();
+        return new InFlightLimitingExecutor(importExecutor, maxInFlightFiles);
+    }
+
     private boolean isValid(CreateProductDto product) {
         Set<ConstraintViolation<CreateProductDto>> violations = validator.validate(product);
         if (!violations.isEmpty()) {
@@ -0,0 +1,77 @@
+package com.github.marcelldechant.bistro.product.integration;
+
+import com.github.marcelldechant.bistro.product.entity.ImportedCsvFile;
+import com.github.marcelldechant.bistro.product.repository.ImportedCsvFileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.integration.file.filters.FileListFilter;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Accepts a CSV file only if its name, size and modification time differ from the last completed import. Completed
+ * imports are stored in the database, so with a file-backed database a restart skips every unchanged file instead of
+ * importing the whole catalog again. Files accepted during this run are remembered in memory, so a file that is still
+ * being imported is not handed out by the next poll. A failed import is forgotten again, so the next poll retries it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CsvImportLedger implements FileListFilter<File> {
+    private final ImportedCsvFileRepository importedCsvFileRepository;
+    private final Map<String, Fingerprint> accepted = new ConcurrentHashMap<>();
+
+    @Override
+    public List<File> filterFiles(File[] files) {
+        List<File> changed = new ArrayList<>();
+        for (File file : files) {
+            Fingerprint fingerprint = Fingerprint.of(file);
+            if (fingerprint.equals(accepted.get(file.getName()))) {
+                continue;
+            }
+            accepted.put(file.getName(), fingerprint);
+            if (isImported(file.getName(), fingerprint)) {
+                log.info("Skipping unchanged CSV file: {}", file.getName());
+                continue;
+            }
+            changed.add(file);
+        }
+        return changed;
+    }
+
+    public void recordImported(String fileName, Fingerprint fingerprint) {
+        importedCsvFileRepository.save(ImportedCsvFile.builder()
+                .fileName(fileName)
+                .lastModified(fingerprint.lastModified())
+                .size(fingerprint.size())
+                .importedAt(Instant.now())
+                .build());
+    }
+
+    public void recordFailed(String fileName, Fingerprint fingerprint) {
+        if (fingerprint == null) {
+            accepted.remove(fileName);
+        } else {
+            accepted.remove(fileName, fingerprint);
+        }
+    }
+
+    private boolean isImported(String fileName, Fingerprint fingerprint) {
+        Optional<ImportedCsvFile> imported = importedCsvFileRepository.findById(fileName);
+        return imported.isPresent() && fingerprint.equals(
+                new Fingerprint(imported.get().getLastModified(), imported.get().getSize()));
+    }
+
+    public record Fingerprint(long lastModified, long size) {
+        public static Fingerprint of(File file) {
+            return new Fingerprint(file.lastModified(), file.length());
+        }
+    }
+}
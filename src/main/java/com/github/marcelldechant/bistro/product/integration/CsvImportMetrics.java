@@ -0,0 +1,66 @@
+package com.github.marcelldechant.bistro.product.integration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class CsvImportMetrics {
+    private final Counter rowsRead;
+    private final Counter rowsRejectedByTransformer;
+    private final Counter rowsRejectedByValidator;
+    private final Counter rowsPersisted;
+    private final Counter rowsUnchanged;
+    private final Timer fileDuration;
+
+    public CsvImportMetrics(MeterRegistry registry) {
+        this.rowsRead = Counter.builder("bistro.csv.import.rows.read")
+                .description("CSV data rows read from input files")
+                .register(registry);
+        this.rowsRejectedByTransformer = rejectedCounter(registry, "transformer");
+        this.rowsRejectedByValidator = rejectedCounter(registry, "validator");
+        this.rowsPersisted = Counter.builder("bistro.csv.import.rows.persisted")
+                .description("Products inserted or updated by the CSV import")
+                .register(registry);
+        this.rowsUnchanged = Counter.builder("bistro.csv.import.rows.unchanged")
+                .description("CSV rows skipped because the product already exists with the same price")
+                .register(registry);
+        this.fileDuration = Timer.builder("bistro.csv.import.file.duration")
+                .description("Time from the start marker to the last flushed chunk of a CSV file")
+                .register(registry);
+    }
+
+    public void rowRead() {
+        rowsRead.increment();
+    }
+
+    public void rowRejectedByTransformer() {
+        rowsRejectedByTransformer.increment();
+    }
+
+    public void rowRejectedByValidator() {
+        rowsRejectedByValidator.increment();
+    }
+
+    public void rowsPersisted(int rows) {
+        rowsPersisted.increment(rows);
+    }
+
+    public void rowsUnchanged(int rows) {
+        rowsUnchanged.increment(rows);
+    }
+
+    public void fileImported(long elapsedNanos) {
+        fileDuration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, String stage) {
+        return Counter.builder("bistro.csv.import.rows.rejected")
+                .description("CSV rows rejected during the import")
+                .tag("stage", stage)
+                .register(registry);
+    }
+}
@@ -0,0 +1,196 @@
+package com.github.marcelldechant.bistro.product.integration;
+
+import com.github.marcelldechant.bistro.product.dto.CreateProductDto;
+import com.github.marcelldechant.bistro.product.service.ProductService;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+public class CsvProductBatchWriter {
+    private static final long ROWS_PER_REPORT = 10_000;
+
+    private final ProductService productService;
+    private final CsvImportLedger ledger;
+    private final CsvImportMetrics metrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final Map<String, FileImport> imports = new ConcurrentHashMap<>();
+    private final Lock catalogLock = new ReentrantLock();
+    private Map<String, BigDecimal> catalogPrices;
+    private long catalogVersion;
+
+    public CsvProductBatchWriter(ProductService productService,
+                                 CsvImportLedger ledger,
+                                 CsvImportMetrics metrics,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${csv.import.chunk-size:500}") int chunkSize) {
+        this.productService = productService;
+        this.ledger = ledger;
+        this.metrics = metrics;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    public void startFile(File file, CsvImportLedger.Fingerprint fingerprint) {
+        imports.put(file.getAbsolutePath(), new FileImport(System.nanoTime(), fingerprint, new ArrayList<>(chunkSize)));
+    }
+
+    public void add(File file, CreateProductDto product) {
+        FileImport fileImport = fileImport(file);
+        fileImport.getChunk().add(product);
+        if (fileImport.getChunk().size() >= chunkSize) {
+            try {
+                flush(file.getName(), fileImport);
+            } catch (RuntimeException e) {
+                abort(file, fileImport);
+                throw e;
+            }
+        }
+    }
+
+    public void reject(File file) {
+        fileImport(file).addRejectedRow();
+    }
+
+    public void finishFile(File file) {
+        FileImport fileImport = imports.remove(file.getAbsolutePath());
+        if (fileImport == null) {
+            return;
+        }
+        String fileName = file.getName();
+        try {
+            flush(fileName, fileImport);
+            if (fileImport.getFingerprint() != null) {
+                ledger.recordImported(fileName, fileImport.getFingerprint());
+            }
+        } catch (RuntimeException e) {
+            abort(file, fileImport);
+            throw e;
+        }
+
+        long elapsedNanos = System.nanoTime() - fileImport.getStartNanos();
+        metrics.fileImported(elapsedNanos);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        long rows = fileImport.getPersistedRows();
+        log.info("Imported {} products ({} unchanged) from {} in {} ms ({} rows/s, {} ms per {} rows)",
+                rows,
+                fileImport.getUnchangedRows(),
+                fileName,
+                elapsedMillis,
+                elapsedMillis == 0 ? rows * 1000 : rows * 1000 / elapsedMillis,
+                rows == 0 ? 0 : elapsedMillis * ROWS_PER_REPORT / rows,
+                ROWS_PER_REPORT);
+        eventPublisher.publishEvent(new CsvFileImportedEvent(
+                fileName, rows, fileImport.getUnchangedRows(), fileImport.getRejectedRows(), Duration.ofNanos(elapsedNanos)));
+    }
+
+    /*
+     * Rethrowing after the abort stops the splitter, so the remaining lines of the file are not imported as a new,
+     * incomplete file. Chunks flushed before the failure stay committed and are skipped as unchanged on the retry.
+     */
+    private void abort(File file, FileImport fileImport) {
+        imports.remove(file.getAbsolutePath());
+        ledger.recordFailed(file.getName(), fileImport.getFingerprint());
+        log.warn("Import of {} failed after {} rows, it is retried with the next poll",
+                file.getName(), fileImport.getPersistedRows() + fileImport.getUnchangedRows());
+    }
+
+    private FileImport fileImport(File file) {
+        return imports.computeIfAbsent(file.getAbsolutePath(),
+                path -> new FileImport(System.nanoTime(), null, new ArrayList<>(chunkSize)));
+    }
+
+    /*
+     * The name to price map of the catalog is kept in step with every flushed chunk, so each chunk is reduced to its
+     * inserts and price updates without querying the database. The map remembers the catalog version it reflects
+     * and is reloaded once a product was written through any other path, so such a change is never taken for an
+     * unchanged row. Files are imported in parallel, therefore the delta and its write happen under one lock: two
+     * files introducing the same name must not both see it as new. Parsing and validation stay concurrent.
+     */
+    private void flush(String fileName, FileImport fileImport) {
+        List<CreateProductDto> chunk = fileImport.getChunk();
+        if (chunk.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        Map<String, BigDecimal> inserts = new LinkedHashMap<>();
+        Map<String, BigDecimal> updates = new LinkedHashMap<>();
+        catalogLock.lock();
+        try {
+            long version = productService.getCatalogVersion();
+            if (catalogPrices == null || version != catalogVersion) {
+                catalogPrices = productService.getPricesByName();
+                catalogVersion = version;
+            }
+            for (CreateProductDto product : chunk) {
+                BigDecimal knownPrice = catalogPrices.get(product.name());
+                if (knownPrice == null) {
+                    inserts.put(product.name(), product.price());
+                } else if (knownPrice.compareTo(product.price()) != 0 || updates.containsKey(product.name())) {
+                    updates.put(product.name(), product.price());
+                }
+            }
+            productService.upsertProducts(inserts.entrySet().stream()
+                    .map(entry -> new CreateProductDto(entry.getKey(), entry.getValue()))
+                    .toList(), updates);
+            catalogPrices.putAll(inserts);
+            catalogPrices.putAll(updates);
+            if (!inserts.isEmpty() || !updates.isEmpty()) {
+                catalogVersion++;
+            }
+        } finally {
+            catalogLock.unlock();
+        }
+
+        int persisted = inserts.size() + updates.size();
+        int unchanged = chunk.size() - persisted;
+        fileImport.addPersistedRows(persisted);
+        fileImport.addUnchangedRows(unchanged);
+        metrics.rowsPersisted(persisted);
+        metrics.rowsUnchanged(unchanged);
+        log.debug("Flushed chunk of {} rows from {} in {} ms: {} inserted, {} updated, {} unchanged",
+                chunk.size(), fileName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                inserts.size(), updates.size(), unchanged);
+        chunk.clear();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class FileImport {
+        private final long startNanos;
+        private final CsvImportLedger.Fingerprint fingerprint;
+        private final List<CreateProductDto> chunk;
+        private long persistedRows;
+        private long unchangedRows;
+        private long rejectedRows;
+
+        void addPersistedRows(int rows) {
+            persistedRows += rows;
+        }
+
+        void addUnchangedRows(int rows) {
+            unchangedRows += rows;
+        }
+
+        void addRejectedRow() {
+            rejectedRows++;
+        }
+    }
+}
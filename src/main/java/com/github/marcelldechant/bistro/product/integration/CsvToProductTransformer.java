@@ -12,6 +12,10 @@ import java.math.BigDecimal;
 public class CsvToProductTransformer implements GenericTransformer<String[], CreateProductDto> {
     @Override
     public CreateProductDto transform(String[] line) {
+        if (line.length < 2) {
+            log.error("Missing price column in line: {}", (Object) line);
+            return null;
+        }
         String rawName = line[0].trim();
         if (rawName.isBlank()) {
             log.error("Blank product name: {}", (Object) line);
@@ -0,0 +1,48 @@
+package com.github.marcelldechant.bistro.product.integration;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Semaphore;
+
+/*
+ * Caps the number of files that are queued or being imported at the same time. Submitting blocks the caller (the
+ * inbound poller) until a permit is free, so the poller stops picking up new files instead of piling them up. The
+ * poller therefore needs a thread of its own, see CsvFileIntegrationConfig.
+ */
+public class InFlightLimitingExecutor implements TaskExecutor {
+    private final TaskExecutor delegate;
+    private final Semaphore permits;
+
+    public InFlightLimitingExecutor(TaskExecutor delegate, int maxInFlight) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskRejectedException("Interrupted while waiting for an import slot", e);
+        }
+
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,9 @@
+package com.github.marcelldechant.bistro.product.repository;
+
+import com.github.marcelldechant.bistro.product.entity.ImportedCsvFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImportedCsvFileRepository extends JpaRepository<ImportedCsvFile, String> {
+}
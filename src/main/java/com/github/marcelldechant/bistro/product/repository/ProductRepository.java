@@ -1,9 +1,30 @@
 package com.github.marcelldechant.bistro.product.repository;
 
+import com.github.marcelldechant.bistro.product.dto.ProductResponseDto;
 import com.github.marcelldechant.bistro.product.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+    List<Product> findByIdGreaterThanOrderByIdAsc(long afterId, Limit limit);
+
+    List<Product> findByNameIn(Collection<String> names);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.github.marcelldechant.bistro.product.dto.ProductResponseDto(p.id, p.name, p.price) " +
+            "from Product p order by p.id")
+    Stream<ProductResponseDto> streamAllAsResponseDtos();
 }
@@ -1,22 +1,44 @@
 package com.github.marcelldechant.bistro.product.service;
 
+import com.github.marcelldechant.bistro.product.cache.CatalogBodyCache;
+import com.github.marcelldechant.bistro.product.cache.CatalogBodyCache.CatalogBody;
+import com.github.marcelldechant.bistro.product.cache.ProductCache;
 import com.github.marcelldechant.bistro.product.dto.CreateProductDto;
+import com.github.marcelldechant.bistro.product.dto.ProductCacheStatsDto;
 import com.github.marcelldechant.bistro.product.dto.ProductResponseDto;
 import com.github.marcelldechant.bistro.product.entity.Product;
+import com.github.marcelldechant.bistro.product.exception.PaginationException;
+import com.github.marcelldechant.bistro.product.exception.ProductAlreadyExistsException;
 import com.github.marcelldechant.bistro.product.exception.ProductNotFoundException;
 import com.github.marcelldechant.bistro.product.mapper.ProductMapper;
 import com.github.marcelldechant.bistro.product.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Validated
 public class ProductService {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final CatalogBodyCache catalogBodyCache;
 
     public List<ProductResponseDto> getAllProducts() {
         return productRepository
@@ -26,18 +48,150 @@ public class ProductService {
                 .toList();
     }
 
+    public CatalogBody getCatalog() {
+        return catalogBodyCache.get(this::getAllProducts);
+    }
+
+    public List<ProductResponseDto> getProducts(Integer page, Integer size, Long afterId) {
+        if (afterId != null) {
+            if (page != null) {
+                throw new PaginationException("Parameters page and afterId cannot be combined");
+            }
+            return productRepository
+                    .findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(resolvePageSize(size)))
+                    .stream()
+                    .map(ProductMapper::toResponseDto)
+                    .toList();
+        }
+
+        if (page == null && size == null) {
+            return getAllProducts();
+        }
+
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) {
+            throw new PaginationException("Page must not be negative");
+        }
+        return productRepository
+                .findAll(PageRequest.of(pageNumber, resolvePageSize(size), Sort.by("id")))
+                .stream()
+                .map(ProductMapper::toResponseDto)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllProducts(Consumer<ProductResponseDto> consumer) {
+        try (Stream<ProductResponseDto> products = productRepository.streamAllAsResponseDtos()) {
+            products.forEach(consumer);
+        }
+    }
+
     public ProductResponseDto getProductById(long id) {
         return ProductMapper.toResponseDto(getProductByIdEntity(id));
     }
 
     public Product getProductByIdEntity(long id) {
-        return productRepository
-                .findById(id)
-                .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
+        return productCache.get(id).orElseGet(() -> {
+            Product product = productRepository
+                    .findById(id)
+                    .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
+            productCache.put(product);
+            return product;
+        });
+    }
+
+    public Map<Long, Product> getProductsByIds(Collection<Long> ids) {
+        Map<Long, Product> products = findProductsByIds(ids);
+
+        List<Long> missingIds = ids.stream()
+                .filter(id -> !products.containsKey(id))
+                .distinct()
+                .toList();
+
+        if (!missingIds.isEmpty()) {
+            throw ProductNotFoundException.forIds(missingIds);
+        }
+        return products;
     }
 
+    public Map<Long, Product> findProductsByIds(Collection<Long> ids) {
+        Map<Long, Product> products = new HashMap<>(productCache.getAll(ids));
+
+        List<Long> uncachedIds = ids.stream()
+                .filter(id -> !products.containsKey(id))
+                .distinct()
+                .toList();
+
+        if (!uncachedIds.isEmpty()) {
+            List<Product> loaded = productRepository.findAllById(uncachedIds);
+            productCache.putAll(loaded);
+            loaded.forEach(product -> products.put(product.getId(), product));
+        }
+        return products;
+    }
+
+    /*
+     * Product names are unique since the CSV import upserts by name, so a second product with the same name is a
+     * conflict rather than a server error.
+     */
     public ProductResponseDto createProduct(CreateProductDto createProductDto) {
-        Product savedProduct = productRepository.save(ProductMapper.toEntity(createProductDto));
+        Product savedProduct;
+        try {
+            savedProduct = productRepository.save(ProductMapper.toEntity(createProductDto));
+        } catch (DataIntegrityViolationException e) {
+            throw new ProductAlreadyExistsException(
+                    "Product already exists with name: " + createProductDto.name(), e);
+        }
+        productCache.put(savedProduct);
+        catalogBodyCache.markChanged();
         return ProductMapper.toResponseDto(savedProduct);
     }
+
+    /*
+     * Incremented once after every committed product write.
+     */
+    public long getCatalogVersion() {
+        return catalogBodyCache.version();
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> getPricesByName() {
+        Map<String, BigDecimal> prices = new HashMap<>();
+        streamAllProducts(product -> prices.put(product.name(), product.price()));
+        return prices;
+    }
+
+    /*
+     * Updated rows are loaded by name and changed through dirty checking, so Hibernate sends them as one JDBC
+     * batch at commit alongside the batched inserts. Cached entries of updated products are replaced after the commit
+     * instead of dropping the whole catalog cache.
+     */
+    @Transactional
+    public void upsertProducts(List<CreateProductDto> inserts, Map<String, BigDecimal> priceUpdates) {
+        if (inserts.isEmpty() && priceUpdates.isEmpty()) {
+            return;
+        }
+        catalogBodyCache.markChanged();
+        productRepository.saveAll(inserts.stream().map(ProductMapper::toEntity).toList());
+        if (priceUpdates.isEmpty()) {
+            return;
+        }
+        List<Product> updated = productRepository.findByNameIn(priceUpdates.keySet());
+        updated.forEach(product -> product.setPrice(priceUpdates.get(product.getName())));
+        productCache.putAllAfterCommit(updated);
+    }
+
+    public ProductCacheStatsDto getCatalogCacheStats() {
+        return productCache.stats();
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new PaginationException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
 }
@@ -0,0 +1,47 @@
+package com.github.marcelldechant.bistro.web;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class ApiMediaTypes {
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    /* In order of preference, so a client accepting anything gets JSON. */
+    private static final List<MediaType> OBJECT_MEDIA_TYPES =
+            List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+
+    private ApiMediaTypes() {
+    }
+
+    /*
+     * Decides in which format a body that is already stored as JSON is written. Only a client that ranks CBOR or Smile
+     * above JSON in its Accept header gets a binary encoding.
+     */
+    public static MediaType preferredObjectMediaType(String acceptHeader) {
+        if (acceptHeader == null || acceptHeader.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(acceptHeader));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+        for (MediaType mediaType : accepted) {
+            for (MediaType candidate : OBJECT_MEDIA_TYPES) {
+                if (mediaType.getQualityValue() > 0 && mediaType.includes(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.marcelldechant.bistro.web;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * The embedded server gzips responses itself, but leaves out those with a strong ETag, because a compressed body
+ * is a different representation. Bodies cached under such an ETag are compressed here instead, once per cached
+ * version, following the same server.compression settings.
+ */
+@Component
+public class ResponseCompression {
+    private static final String GZIP = "gzip";
+
+    private final Compression compression;
+
+    public ResponseCompression(ServerProperties serverProperties) {
+        this.compression = serverProperties.getCompression();
+    }
+
+    public boolean shouldGzip(int contentLength, String acceptEncoding) {
+        return compression.getEnabled()
+                && contentLength >= compression.getMinResponseSize().toBytes()
+                && acceptsGzip(acceptEncoding);
+    }
+
+    public static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(GZIP)) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.marcelldechant.bistro.order.cache;
+
+import com.github.marcelldechant.bistro.order.entity.OrderView;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderViewEncodingCacheTest {
+    private final OrderViewEncodingCache cache = new OrderViewEncodingCache(100);
+
+    @Test
+    void encoding_shouldEncodeOncePerFormat_whileViewIsUnchanged() {
+        AtomicInteger encoded = new AtomicInteger();
+
+        byte[] first = cache.encoding(view(1L, "{\"total\":5.00}"), "cbor", () -> body(encoded, "cbor"));
+        byte[] second = cache.encoding(view(1L, "{\"total\":5.00}"), "cbor", () -> body(encoded, "cbor"));
+        byte[] smile = cache.encoding(view(1L, "{\"total\":5.00}"), "x-jackson-smile", () -> body(encoded, "smile"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(smile).isNotEqualTo(first);
+        assertThat(encoded).hasValue(2);
+    }
+
+    @Test
+    void encoding_shouldEncodeAgain_whenViewWasReplaced() {
+        AtomicInteger encoded = new AtomicInteger();
+
+        cache.encoding(view(1L, "{\"total\":5.00}"), "cbor", () -> body(encoded, "first"));
+        byte[] replaced = cache.encoding(view(1L, "{\"total\":9.00}"), "cbor", () -> body(encoded, "second"));
+
+        assertThat(new String(replaced, StandardCharsets.UTF_8)).isEqualTo("second");
+        assertThat(encoded).hasValue(2);
+    }
+
+    private static OrderView view(long orderId, String json) {
+        return new OrderView(orderId, json.getBytes(StandardCharsets.UTF_8), new byte[0], false);
+    }
+
+    private static byte[] body(AtomicInteger encoded, String content) {
+        encoded.incrementAndGet();
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
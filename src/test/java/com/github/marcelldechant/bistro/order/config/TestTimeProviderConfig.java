@@ -11,6 +11,6 @@ public class TestTimeProviderConfig {
     @Bean
     @Primary
     public TimeProvider timeProvider() {
-        return Mockito.mock(TimeProvider.class);
+        return Mockito.mock(TimeProvider.class, Mockito.CALLS_REAL_METHODS);
     }
 }
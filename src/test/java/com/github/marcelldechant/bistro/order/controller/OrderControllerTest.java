@@ -1,36 +1,61 @@
 package com.github.marcelldechant.bistro.order.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.github.marcelldechant.bistro.order.config.TestTimeProviderConfig;
+import com.github.marcelldechant.bistro.order.dto.BatchOrderResultDto;
+import com.github.marcelldechant.bistro.order.dto.CompactOrderResponseDto;
 import com.github.marcelldechant.bistro.order.dto.CreateOrderDto;
+import com.github.marcelldechant.bistro.order.dto.OrderPageDto;
 import com.github.marcelldechant.bistro.order.dto.OrderResponseDto;
+import com.github.marcelldechant.bistro.order.repository.OrderRepository;
 import com.github.marcelldechant.bistro.order.util.TimeProvider;
+import com.github.marcelldechant.bistro.orderitem.dto.CompactOrderItemResponseDto;
 import com.github.marcelldechant.bistro.orderitem.dto.CreateOrderItemDto;
 import com.github.marcelldechant.bistro.orderitem.dto.OrderItemResponseDto;
+import com.github.marcelldechant.bistro.product.repository.ProductRepository;
+import com.github.marcelldechant.bistro.web.ApiMediaTypes;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability
 @Import(TestTimeProviderConfig.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class OrderControllerTest {
@@ -43,6 +68,12 @@ class OrderControllerTest {
     @Autowired
     private TimeProvider timeProvider;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
     /*
      * Set the default locale to Germany for consistent number formatting in tests.
      */
@@ -51,6 +82,14 @@ class OrderControllerTest {
         Locale.setDefault(Locale.GERMANY);
     }
 
+    /*
+     * The CSV import runs asynchronously on the poller thread, so wait until the catalog has been persisted.
+     */
+    @BeforeEach
+    void awaitCsvImport() {
+        await().atMost(Duration.ofSeconds(10)).until(() -> productRepository.count() == 7);
+    }
+
     @Test
     void createOrder_returnsCreatedOrderWithoutDiscount_whenValidInput() throws Exception {
         when(timeProvider.now()).thenReturn(LocalTime.of(14, 0));
@@ -188,6 +227,50 @@ class OrderControllerTest {
         assertThat(responseJson).contains("Duplicate products in order are not allowed");
     }
 
+    @Test
+    void createOrders_returnsPerOrderResults_whenBatchContainsValidAndInvalidOrders() throws Exception {
+        when(timeProvider.now()).thenReturn(LocalTime.of(14, 0));
+
+        List<CreateOrderDto> requestDtos = List.of(
+                new CreateOrderDto(1, List.of(new CreateOrderItemDto(1L, 2))),
+                new CreateOrderDto(2, List.of(new CreateOrderItemDto(99L, 1))),
+                new CreateOrderDto(3, List.of(new CreateOrderItemDto(2L, 1), new CreateOrderItemDto(3L, 1)))
+        );
+
+        String requestBody = objectMapper.writeValueAsString(requestDtos);
+
+        String responseJson = mockMvc.perform(post("/api/v1/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<BatchOrderResultDto> results = objectMapper.readValue(responseJson, new TypeReference<>() {
+        });
+
+        assertThat(results)
+                .extracting(BatchOrderResultDto::index, BatchOrderResultDto::statusCode, BatchOrderResultDto::message)
+                .containsExactly(
+                        tuple(0, 201, null),
+                        tuple(1, 404, "Product not found with id: 99"),
+                        tuple(2, 201, null)
+                );
+
+        String createdOrderJson = mockMvc.perform(get("/api/v1/orders/" + results.get(2).order().id()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        OrderResponseDto createdOrder = objectMapper.readValue(createdOrderJson, OrderResponseDto.class);
+
+        assertThat(createdOrder.tableNumber()).isEqualTo(3);
+        assertThat(createdOrder.total().doubleValue()).isEqualTo(13.00);
+    }
+
     @Test
     void getOrderById_returnsOrder_whenOrderExists() throws Exception {
         when(timeProvider.now()).thenReturn(LocalTime.of(14, 0));
@@ -228,6 +311,176 @@ class OrderControllerTest {
         assertThat(fetchedOrder.items().getFirst().product().getName()).isEqualTo("cola");
     }
 
+    @Test
+    void createOrder_acceptsAndReturnsCbor_andGetOrderByIdReturnsSmile_whenNegotiated() throws Exception {
+        when(timeProvider.now()).thenReturn(LocalTime.of(14, 0));
+        ObjectMapper cborMapper = new CBORMapper().findAndRegisterModules();
+        ObjectMapper smileMapper = new SmileMapper().findAndRegisterModules();
+        CreateOrderDto createDto = new CreateOrderDto(6, List.of(new CreateOrderItemDto(1L, 2)));
+
+        byte[] createdOrderCbor = mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(createDto)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        OrderResponseDto createdOrder = cborMapper.readValue(createdOrderCbor, OrderResponseDto.class);
+
+        byte[] fetchedOrderSmile = mockMvc.perform(get("/api/v1/orders/" + createdOrder.id())
+                        .accept(ApiMediaTypes.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ApiMediaTypes.APPLICATION_SMILE))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        OrderResponseDto fetchedOrder = smileMapper.readValue(fetchedOrderSmile, OrderResponseDto.class);
+
+        assertThat(fetchedOrder)
+                .extracting(OrderResponseDto::id, OrderResponseDto::tableNumber, OrderResponseDto::total,
+                        OrderResponseDto::createdAt)
+                .containsExactly(createdOrder.id(), 6, new BigDecimal("5.00"), createdOrder.createdAt());
+        assertThat(fetchedOrder.items().getFirst().product().getName()).isEqualTo("cola");
+    }
+
+    @Test
+    void getOrderById_returnsCompactOrder_whenCompactViewIsRequested() throws Exception {
+        when(timeProvider.now()).thenReturn(LocalTime.of(14, 0));
+
+        CreateOrderDto createDto = new CreateOrderDto(
+                6,
+                List.of(new CreateOrderItemDto(1L, 2), new CreateOrderItemDto(3L, 1))
+        );
+
+        String createdOrderJson = mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createDto)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Long createdId = objectMapper.readValue(createdOrderJson, OrderResponseDto.class).id();
+
+        String compactJson = mockMvc.perform(get("/api/v1/orders/" + createdId).param("view", "compact"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        CompactOrderResponseDto compactOrder = objectMapper.readValue(compactJson, CompactOrderResponseDto.class);
+
+        assertThat(compactJson).doesNotContain("\"product\"");
+        assertThat(compactOrder)
+                .extracting(CompactOrderResponseDto::id, CompactOrderResponseDto::tableNumber)
+                .containsExactly(createdId, 6);
+        assertThat(compactOrder.items())
+                .extracting(CompactOrderItemResponseDto::productId, CompactOrderItemResponseDto::productName,
+                        CompactOrderItemResponseDto::quantity)
+                .containsExactly(tuple(1L, "cola", 2), tuple(3L, "burger", 1));
+        assertThat(compactOrder.total().doubleValue()).isEqualTo(12.00);
+    }
+
+    @Test
+    void getOrders_pagesThroughTimeRange_whenAfterIdIsFollowed() throws Exception {
+        when(timeProvider.now()).thenReturn(LocalTime.of(14, 0));
+        when(timeProvider.instant()).thenReturn(
+                Instant.parse("2025-07-27T12:00:00Z"),
+                Instant.parse("2025-07-27T12:00:00Z"),
+                Instant.parse("2025-07-27T13:00:00Z"),
+                Instant.parse("2025-07-27T23:30:00Z"));
+
+        List<Long> ids = new ArrayList<>();
+        for (int table = 1; table <= 4; table++) {
+            String createdOrderJson = mockMvc.perform(post("/api/v1/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new CreateOrderDto(table, List.of(new CreateOrderItemDto(1L, 1))))))
+                    .andExpect(status().isCreated())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            ids.add(objectMapper.readValue(createdOrderJson, OrderResponseDto.class).id());
+        }
+
+        OrderPageDto firstPage = getOrderPage(null);
+        OrderPageDto secondPage = getOrderPage(firstPage.nextAfterId());
+
+        assertThat(firstPage.orders())
+                .extracting(OrderResponseDto::id, OrderResponseDto::createdAt)
+                .containsExactly(tuple(ids.get(0), Instant.parse("2025-07-27T12:00:00Z")),
+                        tuple(ids.get(1), Instant.parse("2025-07-27T12:00:00Z")));
+        assertThat(firstPage.nextAfterId()).isEqualTo(ids.get(1));
+        assertThat(secondPage.orders()).extracting(OrderResponseDto::id).containsExactly(ids.get(2));
+        assertThat(secondPage.nextAfterId()).isNull();
+    }
+
+    @Test
+    void getOrders_pagesThroughOrdersCreatedAtFrom_withoutRepeatingAPage() throws Exception {
+        when(timeProvider.now()).thenReturn(LocalTime.of(14, 0));
+        when(timeProvider.instant()).thenReturn(Instant.parse("2025-07-27T08:00:00Z"));
+
+        List<Long> ids = new ArrayList<>();
+        for (int table = 1; table <= 5; table++) {
+            ids.add(createOrder(table, new CreateOrderItemDto(1L, 1)));
+        }
+
+        List<Long> listed = new ArrayList<>();
+        int pages = 0;
+        Long afterId = null;
+        do {
+            OrderPageDto page = getOrderPage(afterId);
+            page.orders().forEach(order -> listed.add(order.id()));
+            afterId = page.nextAfterId();
+            pages++;
+        } while (afterId != null && pages < 10);
+
+        assertThat(listed).containsExactlyElementsOf(ids);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void getOrders_returnsBadRequest_whenRangeIsEmpty() throws Exception {
+        String responseJson = mockMvc.perform(get("/api/v1/orders")
+                        .param("from", "2025-07-27T12:00:00Z")
+                        .param("to", "2025-07-27T12:00:00Z"))
+                .andExpect(status().isBadRequest())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(responseJson).contains("Parameter from must be before to");
+    }
+
+    @Test
+    void streamOrders_sendsCreatedOrders_andReplaysMissedEvents_whenResumedWithLastEventId() throws Exception {
+        when(timeProvider.now()).thenReturn(LocalTime.of(14, 0));
+        MvcResult stream = mockMvc.perform(get("/api/v1/orders/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        long firstId = createOrder(3, new CreateOrderItemDto(1L, 2));
+        long secondId = createOrder(4, new CreateOrderItemDto(2L, 1));
+
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> stream.getResponse().getContentAsString().contains("\"id\":" + secondId + ","));
+        assertThat(stream.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(stream.getResponse().getContentAsString())
+                .contains("id:1\nevent:order-created\ndata:{\"id\":" + firstId + ",\"tableNumber\":3")
+                .contains("id:2\nevent:order-created\n");
+
+        MvcResult resumed = mockMvc.perform(get("/api/v1/orders/stream").header("Last-Event-ID", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> resumed.getResponse().getContentAsString().contains("id:2\n"));
+        assertThat(resumed.getResponse().getContentAsString()).doesNotContain("id:1\n");
+    }
+
     @Test
     void getOrderById_returnsNotFound_whenOrderDoesNotExist() throws Exception {
         long nonExistentId = 9999L;
@@ -347,6 +600,93 @@ class OrderControllerTest {
         assertThat(actualLines).containsExactlyElementsOf(expectedLines);
     }
 
+    @Test
+    void closeOrder_returnsReceiptCoveringAllRounds_whenItemsWereAppended() throws Exception {
+        when(timeProvider.now()).thenReturn(LocalTime.of(14, 0));
+        long orderId = createOrder(8, new CreateOrderItemDto(1L, 2));
+
+        when(timeProvider.now()).thenReturn(LocalTime.of(18, 0));
+        String appendedJson = mockMvc.perform(post("/api/v1/orders/" + orderId + "/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new CreateOrderItemDto(3L, 1)))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String receipt = mockMvc.perform(post("/api/v1/orders/" + orderId + "/close"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/plain;charset=UTF-8"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String fetchedJson = mockMvc.perform(get("/api/v1/orders/" + orderId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        OrderResponseDto appended = objectMapper.readValue(appendedJson, OrderResponseDto.class);
+        assertThat(appended)
+                .extracting(OrderResponseDto::subtotal, OrderResponseDto::discount, OrderResponseDto::total,
+                        OrderResponseDto::isHappyHour)
+                .containsExactly(new BigDecimal("12.00"), new BigDecimal("0.70"), new BigDecimal("11.30"), true);
+        assertThat(appended.items()).extracting(OrderItemResponseDto::id).doesNotContainNull();
+        assertThat(receipt.lines().map(String::strip).toList())
+                .containsSubsequence("2 x cola @ 2,50 = 5,00", "1 x burger @ 7,00 = 7,00", "Subtotal: 12,00",
+                        "Total: 11,30");
+        assertThat(objectMapper.readValue(fetchedJson, OrderResponseDto.class).closedAt()).isNotNull();
+    }
+
+    @Test
+    void appendItems_returnsConflict_whenOrderIsClosed() throws Exception {
+        when(timeProvider.now()).thenReturn(LocalTime.of(14, 0));
+        long orderId = createOrder(8, new CreateOrderItemDto(1L, 1));
+        mockMvc.perform(post("/api/v1/orders/" + orderId + "/close"))
+                .andExpect(status().isOk());
+
+        String responseJson = mockMvc.perform(post("/api/v1/orders/" + orderId + "/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new CreateOrderItemDto(3L, 1)))))
+                .andExpect(status().isConflict())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(responseJson).contains("Order " + orderId + " is already closed");
+    }
+
+    @Test
+    void appendItems_keepsEveryRound_whenAppendsToSameTableRunConcurrently() throws Exception {
+        when(timeProvider.now()).thenReturn(LocalTime.of(14, 0));
+        long orderId = createOrder(9, new CreateOrderItemDto(1L, 1));
+        String round = objectMapper.writeValueAsString(List.of(new CreateOrderItemDto(1L, 1)));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> appends = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                appends.add(executor.submit(() -> mockMvc.perform(post("/api/v1/orders/" + orderId + "/items")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(round))
+                        .andExpect(status().isOk())));
+            }
+            for (Future<?> append : appends) {
+                append.get(10, TimeUnit.SECONDS);
+            }
+        }
+
+        String fetchedJson = mockMvc.perform(get("/api/v1/orders/" + orderId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        OrderResponseDto fetched = objectMapper.readValue(fetchedJson, OrderResponseDto.class);
+        assertThat(fetched.items()).hasSize(17);
+        assertThat(fetched.total()).isEqualByComparingTo("42.50");
+    }
+
     @Test
     void getReceiptByOrderId_returnsNotFound_whenOrderDoesNotExist() throws Exception {
         long nonExistentId = 9999L;
@@ -360,4 +700,99 @@ class OrderControllerTest {
 
         assertThat(response).contains("Order not found with id: " + nonExistentId);
     }
+
+    @Test
+    void prometheusEndpoint_exposesOrderAndErrorMetrics() throws Exception {
+        when(timeProvider.now()).thenReturn(LocalTime.of(14, 0));
+        CreateOrderDto createOrderDto = new CreateOrderDto(3, List.of(new CreateOrderItemDto(1L, 2)));
+
+        String createdOrderJson = mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createOrderDto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long orderId = objectMapper.readValue(createdOrderJson, OrderResponseDto.class).id();
+        mockMvc.perform(get("/api/v1/orders/" + orderId + "/receipt")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/orders/9999")).andExpect(status().isNotFound());
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metrics)
+                .contains("bistro_order_create_seconds_count{exception=\"none\",happy_hour=\"false\",items=\"1\"} 1")
+                .contains("bistro_order_get_seconds_count")
+                .contains("bistro_order_receipt_render_seconds_count 1")
+                .contains("bistro_api_errors_total{exception=\"OrderNotFoundException\",status=\"404\"} 1");
+    }
+
+    @Test
+    void createOrder_returnsSameOrder_whenRetriedWithSameIdempotencyKey() throws Exception {
+        when(timeProvider.now()).thenReturn(LocalTime.of(14, 0));
+        String requestBody = objectMapper.writeValueAsString(new CreateOrderDto(3, List.of(new CreateOrderItemDto(1L, 2))));
+
+        String firstJson = mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", "pos-1-0001")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String retryJson = mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", "pos-1-0001")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(objectMapper.readValue(retryJson, OrderResponseDto.class))
+                .isEqualTo(objectMapper.readValue(firstJson, OrderResponseDto.class));
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void createOrder_returnsUnprocessableEntity_whenIdempotencyKeyIsReusedForDifferentOrder() throws Exception {
+        when(timeProvider.now()).thenReturn(LocalTime.of(14, 0));
+
+        mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", "pos-1-0002")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateOrderDto(3, List.of(new CreateOrderItemDto(1L, 2))))))
+                .andExpect(status().isCreated());
+
+        String response = mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", "pos-1-0002")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateOrderDto(4, List.of(new CreateOrderItemDto(2L, 1))))))
+                .andExpect(status().isUnprocessableEntity())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(response).contains("Idempotency-Key pos-1-0002 was already used for a different order");
+    }
+
+    private OrderPageDto getOrderPage(Long afterId) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/v1/orders")
+                .param("from", "2025-07-27T08:00:00Z")
+                .param("to", "2025-07-27T23:00:00Z")
+                .param("limit", "2");
+        if (afterId != null) {
+            request.param("afterId", afterId.toString());
+        }
+        String pageJson = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(pageJson, OrderPageDto.class);
+    }
+
+    private long createOrder(int tableNumber, CreateOrderItemDto... items) throws Exception {
+        String createdOrderJson = mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateOrderDto(tableNumber, List.of(items)))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(createdOrderJson, OrderResponseDto.class).id();
+    }
 }
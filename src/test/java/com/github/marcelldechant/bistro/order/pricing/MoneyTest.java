@@ -0,0 +1,67 @@
+package com.github.marcelldechant.bistro.order.pricing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+    @ParameterizedTest
+    @CsvSource({
+            "2.50, 250",
+            "2.5, 250",
+            "7, 700",
+            "0.005, 1",
+            "0.004, 0",
+            "-0.005, -1"
+    })
+    void of_shouldConvertToCents_roundingHalfUp(String amount, long expectedCents) {
+        assertThat(Money.of(new BigDecimal(amount)).cents()).isEqualTo(expectedCents);
+    }
+
+    @Test
+    void toBigDecimal_shouldAlwaysHaveTwoFractionDigits() {
+        assertThat(Money.ofCents(1300).toBigDecimal()).isEqualTo(new BigDecimal("13.00"));
+        assertThat(Money.ofCents(-5).toString()).isEqualTo("-0.05");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1300, 1000, 130",
+            "14815309, 1000, 1481531",
+            "5, 1000, 1",
+            "4, 1000, 0",
+            "-5, 1000, -1",
+            "999, 1250, 125"
+    })
+    void percentage_shouldRoundHalfAwayFromZero(long cents, int basisPoints, long expectedCents) {
+        assertThat(Money.ofCents(cents).percentage(basisPoints)).isEqualTo(Money.ofCents(expectedCents));
+    }
+
+    @Test
+    void toBasisPoints_shouldConvertRates_andRejectFinerRates() {
+        assertThat(Money.toBasisPoints(new BigDecimal("0.10"))).isEqualTo(1000);
+        assertThat(Money.toBasisPoints(new BigDecimal("0.125"))).isEqualTo(1250);
+        assertThatThrownBy(() -> Money.toBasisPoints(new BigDecimal("0.12345")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void rateOf_shouldReturnTheShareOfTheWhole() {
+        assertThat(Money.rateOf(125L * Money.BASIS_POINTS, Money.ofCents(1000))).isEqualTo(1250);
+        assertThat(Money.rateOf(Money.BASIS_POINTS, Money.ofCents(3))).isEqualTo(3333);
+        assertThat(Money.rateOf(Money.ofCents(3450).timesBasisPoints(1000), Money.ofCents(3450))).isEqualTo(1000);
+    }
+
+    @Test
+    void arithmetic_shouldThrow_onOverflow() {
+        Money max = Money.ofCents(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> max.plus(Money.ofCents(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> max.times(2)).isInstanceOf(ArithmeticException.class);
+    }
+}
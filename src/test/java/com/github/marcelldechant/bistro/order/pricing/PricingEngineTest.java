@@ -0,0 +1,126 @@
+package com.github.marcelldechant.bistro.order.pricing;
+
+import com.github.marcelldechant.bistro.orderitem.entity.OrderItem;
+import com.github.marcelldechant.bistro.product.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PricingEngineTest {
+    // 2025-06-06 is a Friday
+    private static final LocalDateTime FRIDAY_NOON = LocalDateTime.of(2025, 6, 6, 12, 0);
+
+    private final Product cola = new Product(1L, "Cola", new BigDecimal("2.50"));
+    private final Product burger = new Product(2L, "Burger", new BigDecimal("8.00"));
+    private final List<OrderItem> items = List.of(
+            new OrderItem(null, cola, 2, Money.ofCents(250), Money.ofCents(500)),
+            new OrderItem(null, burger, 1, Money.ofCents(800), Money.ofCents(800))
+    );
+
+    @Test
+    void price_shouldNotDiscount_whenNoRuleIsActive() {
+        PricingEngine engine = engine(rule("Happy Hour", "17:00", "19:00", null, "0.10", null));
+
+        PricingResult result = engine.price(items, FRIDAY_NOON);
+
+        assertThat(result.subtotal()).isEqualTo(Money.ofCents(1300));
+        assertThat(result.discount()).isEqualTo(Money.ZERO);
+        assertThat(result.total()).isEqualTo(Money.ofCents(1300));
+        assertThat(result.isHappyHour()).isFalse();
+        assertThat(result.discountRate()).isNull();
+    }
+
+    @Test
+    void price_shouldReportRuleRate_whenDiscountIsRoundedToTheCent() {
+        PricingEngine engine = engine(rule("Happy Hour", "17:00", "19:00", null, "0.10", null));
+        List<OrderItem> oddCents = List.of(new OrderItem(null, cola, 1, Money.ofCents(3450), Money.ofCents(3450)));
+
+        PricingResult result = engine.price(oddCents, FRIDAY_NOON.with(LocalTime.of(17, 0)));
+
+        assertThat(result.discount()).isEqualTo(Money.ofCents(345));
+        assertThat(result.discountRate()).isEqualTo(1000);
+    }
+
+    @Test
+    void price_shouldApplyOrderWideRate_insideWindow_andExcludeWindowEnd() {
+        PricingEngine engine = engine(rule("Happy Hour", "17:00", "19:00", null, "0.10", null));
+
+        assertThat(engine.price(items, FRIDAY_NOON.with(LocalTime.of(17, 0))).discount()).isEqualTo(Money.ofCents(130));
+        assertThat(engine.price(items, FRIDAY_NOON.with(LocalTime.of(18, 59, 59))).isHappyHour()).isTrue();
+        assertThat(engine.price(items, FRIDAY_NOON.with(LocalTime.of(19, 0))).isHappyHour()).isFalse();
+    }
+
+    @Test
+    void price_shouldRespectDaysOfWeek() {
+        PricingEngine engine = engine(rule("Weekend", "00:00", "00:00", Set.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), "0.20", null));
+
+        assertThat(engine.price(items, FRIDAY_NOON).isHappyHour()).isFalse();
+        assertThat(engine.price(items, FRIDAY_NOON.plusDays(1)).discount()).isEqualTo(Money.ofCents(260));
+        assertThat(engine.price(items, FRIDAY_NOON.plusDays(2)).isHappyHour()).isTrue();
+        assertThat(engine.price(items, FRIDAY_NOON.plusDays(3)).isHappyHour()).isFalse();
+    }
+
+    @Test
+    void price_shouldWrapWindowsPastMidnight_intoNextDay() {
+        PricingEngine engine = engine(rule("Late Night", "22:00", "02:00", Set.of(DayOfWeek.SUNDAY), "0.10", null));
+
+        LocalDateTime sundayLate = FRIDAY_NOON.plusDays(2).with(LocalTime.of(23, 0));
+        LocalDateTime mondayEarly = FRIDAY_NOON.plusDays(3).with(LocalTime.of(1, 0));
+
+        assertThat(engine.price(items, sundayLate).isHappyHour()).isTrue();
+        assertThat(engine.price(items, mondayEarly).isHappyHour()).isTrue();
+        assertThat(engine.price(items, mondayEarly.with(LocalTime.of(2, 0))).isHappyHour()).isFalse();
+    }
+
+    @Test
+    void price_shouldApplyProductRates_andKeepTheBestRatePerItem() {
+        PricingEngine engine = engine(
+                rule("Happy Hour", "17:00", "19:00", null, "0.10", null),
+                rule("Cola Deal", "12:00", "18:00", null, "0.50", Set.of("Cola"))
+        );
+
+        PricingResult lunch = engine.price(items, FRIDAY_NOON);
+        PricingResult overlap = engine.price(items, FRIDAY_NOON.with(LocalTime.of(17, 30)));
+
+        assertThat(lunch.discount()).isEqualTo(Money.ofCents(250));
+        assertThat(overlap.discount()).isEqualTo(Money.ofCents(330));
+        assertThat(overlap.total()).isEqualTo(Money.ofCents(970));
+        assertThat(lunch.discountRate()).isEqualTo(1923);
+        assertThat(overlap.discountRate()).isEqualTo(2538);
+    }
+
+    @Test
+    void price_shouldNotReportHappyHour_whenActiveProductRuleMatchesNoItem() {
+        PricingEngine engine = engine(rule("Pizza Deal", "12:00", "18:00", null, "0.50", Set.of("Pizza")));
+
+        PricingResult result = engine.price(items, FRIDAY_NOON);
+
+        assertThat(result.discount()).isEqualTo(Money.ZERO);
+        assertThat(result.isHappyHour()).isFalse();
+    }
+
+    @Test
+    void constructor_shouldCompileRulesIntoMergedWindows() {
+        PricingEngine engine = engine(rule("Happy Hour", "17:00", "19:00", null, "0.10", null));
+
+        assertThat(engine.windowCount()).isEqualTo(7 * 2 + 1);
+        assertThat(engine(rule("Always", "00:00", "00:00", null, "0.05", null)).windowCount()).isEqualTo(1);
+        assertThat(engine().windowCount()).isEqualTo(1);
+    }
+
+    private static PricingEngine engine(DiscountRule... rules) {
+        return new PricingEngine(new PricingProperties(List.of(rules)));
+    }
+
+    private static DiscountRule rule(String name, String start, String end, Set<DayOfWeek> days, String rate,
+                                     Set<String> products) {
+        return new DiscountRule(name, LocalTime.parse(start), LocalTime.parse(end), days, new BigDecimal(rate), products);
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.marcelldechant.bistro.order.repository;
+
+import com.github.marcelldechant.bistro.order.entity.Order;
+import com.github.marcelldechant.bistro.order.pricing.Money;
+import com.github.marcelldechant.bistro.orderitem.entity.OrderItem;
+import com.github.marcelldechant.bistro.product.entity.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderRepositoryTest {
+    private static final Instant NOON = Instant.parse("2025-07-27T12:00:00Z");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Product cola = entityManager.persist(new Product(null, "cola", BigDecimal.valueOf(2.50)));
+        Product pizza = entityManager.persist(new Product(null, "pizza", BigDecimal.valueOf(6.00)));
+        Product burger = entityManager.persist(new Product(null, "burger", BigDecimal.valueOf(7.00)));
+
+        orderIds.add(entityManager.persist(order(1, NOON, cola, pizza)).getId());
+        orderIds.add(entityManager.persist(order(2, NOON, pizza, burger)).getId());
+        orderIds.add(entityManager.persist(order(3, NOON.minusSeconds(60), burger, cola)).getId());
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics().clear();
+    }
+
+    @Test
+    void findById_loadsOrderItemsAndProductsWithSingleStatement() {
+        Order order = orderRepository.findById(orderIds.getFirst()).orElseThrow();
+
+        assertThat(order.getItems())
+                .extracting(item -> item.getProduct().getName())
+                .containsExactlyInAnyOrder("cola", "pizza");
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findAllById_loadsAllOrdersItemsAndProductsWithSingleStatement() {
+        List<Order> orders = orderRepository.findAllById(orderIds);
+
+        assertThat(orders)
+                .hasSize(3)
+                .flatExtracting(Order::getItems)
+                .extracting(item -> item.getProduct().getName())
+                .hasSize(6);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findAll_loadsAllOrdersItemsAndProductsWithSingleStatement() {
+        List<Order> orders = orderRepository.findAll();
+
+        assertThat(orders)
+                .hasSize(3)
+                .flatExtracting(Order::getItems)
+                .extracting(item -> item.getProduct().getName())
+                .hasSize(6);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findPageIds_ordersByCreatedAtThenId_whenTimestampsAreEqual() {
+        List<Long> ids = orderRepository.findPageIds(NOON.minusSeconds(3600), 0, NOON.plusSeconds(1), Limit.of(10));
+
+        assertThat(ids).containsExactly(orderIds.get(2), orderIds.get(0), orderIds.get(1));
+    }
+
+    @Test
+    void findPageIds_continuesAfterCursor_whenCursorSharesTimestamp() {
+        List<Long> firstPage = orderRepository.findPageIds(NOON.minusSeconds(3600), 0, NOON.plusSeconds(1), Limit.of(2));
+        Instant cursor = orderRepository.findCreatedAtById(firstPage.getLast()).orElseThrow();
+
+        List<Long> secondPage = orderRepository.findPageIds(cursor, firstPage.getLast(), NOON.plusSeconds(1), Limit.of(2));
+
+        assertThat(firstPage).containsExactly(orderIds.get(2), orderIds.get(0));
+        assertThat(secondPage).containsExactly(orderIds.get(1));
+    }
+
+    @Test
+    void findPageIds_excludesOrdersAtEndOfRange() {
+        List<Long> ids = orderRepository.findPageIds(NOON.minusSeconds(3600), 0, NOON, Limit.of(10));
+
+        assertThat(ids).containsExactly(orderIds.get(2));
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static Order order(int tableNumber, Instant createdAt, Product... products) {
+        List<OrderItem> items = new ArrayList<>();
+        Money subtotal = Money.ZERO;
+        for (Product product : products) {
+            Money price = Money.of(product.getPrice());
+            items.add(new OrderItem(null, product, 1, price, price));
+            subtotal = subtotal.plus(price);
+        }
+        return Order.builder()
+                .tableNumber(tableNumber)
+                .items(items)
+                .subtotal(subtotal)
+                .discount(Money.ZERO)
+                .total(subtotal)
+                .isHappyHour(false)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.marcelldechant.bistro.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.marcelldechant.bistro.order.dto.CreateOrderDto;
+import com.github.marcelldechant.bistro.order.dto.OrderResponseDto;
+import com.github.marcelldechant.bistro.order.entity.Order;
+import com.github.marcelldechant.bistro.order.entity.OrderIdempotencyKey;
+import com.github.marcelldechant.bistro.order.exception.IdempotencyKeyException;
+import com.github.marcelldechant.bistro.order.exception.IdempotencyKeyMismatchException;
+import com.github.marcelldechant.bistro.order.exception.NoItemsException;
+import com.github.marcelldechant.bistro.order.repository.OrderIdempotencyKeyRepository;
+import com.github.marcelldechant.bistro.orderitem.dto.CreateOrderItemDto;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+class OrderIdempotencyServiceTest {
+    private final OrderService orderService = Mockito.mock(OrderService.class);
+    private final OrderIdempotencyKeyRepository idempotencyKeyRepository = Mockito.mock(OrderIdempotencyKeyRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OrderIdempotencyService idempotencyService = new OrderIdempotencyService(orderService,
+            idempotencyKeyRepository, objectMapper, 100, Duration.ofHours(24));
+
+    private final CreateOrderDto dto = new CreateOrderDto(5, List.of(new CreateOrderItemDto(1L, 2)));
+    private final OrderResponseDto response = new OrderResponseDto(7L, 5, List.of(),
+            new BigDecimal("5.00"), BigDecimal.ZERO, new BigDecimal("5.00"), false, Instant.parse("2025-07-27T12:00:00Z"), null);
+
+    @Test
+    void createOrder_shouldReturnStoredResponse_whenKeyIsRetried() {
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.empty());
+        when(orderService.createOrder(Mockito.eq(dto), Mockito.any())).thenAnswer(invocation -> {
+            Consumer<Order> inTransaction = invocation.getArgument(1);
+            inTransaction.accept(Order.builder().id(7L).build());
+            return response;
+        });
+
+        OrderResponseDto first = idempotencyService.createOrder("key-1", dto);
+        OrderResponseDto retry = idempotencyService.createOrder("key-1", dto);
+
+        assertThat(retry).isSameAs(first);
+        Mockito.verify(orderService, Mockito.times(1)).createOrder(Mockito.eq(dto), Mockito.any());
+        Mockito.verify(idempotencyKeyRepository).save(Mockito.argThat(key ->
+                key.getKey().equals("key-1") && key.getOrderId() == 7L));
+    }
+
+    @Test
+    void createOrder_shouldNotStoreKey_whenOrderIsNotCreated() {
+        when(idempotencyKeyRepository.findById("key-6")).thenReturn(Optional.empty());
+        when(orderService.createOrder(Mockito.eq(dto), Mockito.any()))
+                .thenThrow(new NoItemsException("Order must contain at least one item"));
+
+        assertThatThrownBy(() -> idempotencyService.createOrder("key-6", dto)).isInstanceOf(NoItemsException.class);
+        Mockito.verify(idempotencyKeyRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    void createOrder_shouldLetConcurrentDuplicatesWaitForFirstRequest() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(idempotencyKeyRepository.findById("key-2")).thenReturn(Optional.empty());
+        when(orderService.createOrder(Mockito.eq(dto), Mockito.any())).thenAnswer(invocation -> {
+            firstStarted.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return response;
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<OrderResponseDto> first = executor.submit(() -> idempotencyService.createOrder("key-2", dto));
+            firstStarted.await(10, TimeUnit.SECONDS);
+            Future<OrderResponseDto> duplicate = executor.submit(() -> idempotencyService.createOrder("key-2", dto));
+            Thread.sleep(50);
+            assertThat(duplicate).isNotDone();
+
+            release.countDown();
+
+            assertThat(first.get()).isSameAs(response);
+            assertThat(duplicate.get()).isSameAs(response);
+        }
+        Mockito.verify(orderService, Mockito.times(1)).createOrder(Mockito.eq(dto), Mockito.any());
+    }
+
+    @Test
+    void createOrder_shouldRejectKey_whenReusedForDifferentOrder() {
+        when(idempotencyKeyRepository.findById("key-3")).thenReturn(Optional.empty());
+        when(orderService.createOrder(Mockito.eq(dto), Mockito.any())).thenReturn(response);
+        idempotencyService.createOrder("key-3", dto);
+
+        CreateOrderDto otherOrder = new CreateOrderDto(6, List.of(new CreateOrderItemDto(2L, 1)));
+
+        assertThatThrownBy(() -> idempotencyService.createOrder("key-3", otherOrder))
+                .isInstanceOf(IdempotencyKeyMismatchException.class)
+                .hasMessageContaining("key-3");
+    }
+
+    @Test
+    void createOrder_shouldLoadPersistedOrder_whenKeyIsKnownFromBeforeRestart() throws Exception {
+        when(idempotencyKeyRepository.findById("key-4")).thenReturn(Optional.of(persistedKey("key-4", dto)));
+        when(orderService.getOrderById(7L)).thenReturn(response);
+
+        OrderResponseDto result = idempotencyService.createOrder("key-4", dto);
+
+        assertThat(result).isSameAs(response);
+        Mockito.verify(orderService, Mockito.never()).createOrder(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void createOrder_shouldRejectKey_whenKnownFromBeforeRestartForDifferentOrder() throws Exception {
+        CreateOrderDto otherOrder = new CreateOrderDto(5, List.of(new CreateOrderItemDto(1L, 3)));
+        when(idempotencyKeyRepository.findById("key-7")).thenReturn(Optional.of(persistedKey("key-7", otherOrder)));
+
+        assertThatThrownBy(() -> idempotencyService.createOrder("key-7", dto))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+        Mockito.verify(orderService, Mockito.never()).getOrderById(Mockito.anyLong());
+    }
+
+    @Test
+    void createOrder_shouldAllowRetry_whenFirstAttemptFailed() {
+        when(idempotencyKeyRepository.findById("key-5")).thenReturn(Optional.empty());
+        when(orderService.createOrder(Mockito.eq(dto), Mockito.any()))
+                .thenThrow(new NoItemsException("Order must contain at least one item"))
+                .thenReturn(response);
+
+        assertThatThrownBy(() -> idempotencyService.createOrder("key-5", dto)).isInstanceOf(NoItemsException.class);
+        assertThat(idempotencyService.createOrder("key-5", dto)).isSameAs(response);
+    }
+
+    @Test
+    void createOrder_shouldRejectBlankKey() {
+        assertThatThrownBy(() -> idempotencyService.createOrder(" ", dto))
+                .isInstanceOf(IdempotencyKeyException.class);
+    }
+
+    private OrderIdempotencyKey persistedKey(String key, CreateOrderDto request) throws Exception {
+        return OrderIdempotencyKey.builder()
+                .key(key)
+                .orderId(7L)
+                .requestDigest(MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)))
+                .createdAt(Instant.now().minusSeconds(60))
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.marcelldechant.bistro.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.marcelldechant.bistro.order.dto.OrderResponseDto;
+import com.github.marcelldechant.bistro.order.entity.Order;
+import com.github.marcelldechant.bistro.order.entity.OrderView;
+import com.github.marcelldechant.bistro.order.exception.OrderNotFoundException;
+import com.github.marcelldechant.bistro.order.pricing.Money;
+import com.github.marcelldechant.bistro.order.repository.OrderRepository;
+import com.github.marcelldechant.bistro.order.repository.OrderViewRepository;
+import com.github.marcelldechant.bistro.orderitem.entity.OrderItem;
+import com.github.marcelldechant.bistro.product.entity.Product;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class OrderReadModelTest {
+    private final OrderViewRepository orderViewRepository = Mockito.mock(OrderViewRepository.class);
+    private final OrderRepository orderRepository = Mockito.mock(OrderRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final OrderReadModel orderReadModel =
+            new OrderReadModel(orderViewRepository, orderRepository, objectMapper, 2, false);
+
+    @Test
+    void insert_shouldStoreRenderedResponseAndReceipt_whenOrderIsPersisted() throws Exception {
+        when(orderViewRepository.save(any(OrderView.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        OrderView view = orderReadModel.insert(order(1L));
+
+        assertThat(objectMapper.readValue(view.getResponseJson(), OrderResponseDto.class))
+                .extracting(OrderResponseDto::id, OrderResponseDto::tableNumber, OrderResponseDto::total)
+                .containsExactly(1L, 4, new BigDecimal("7.50"));
+        assertThat(new String(view.getReceipt(), StandardCharsets.UTF_8)).contains("Pizza");
+    }
+
+    @Test
+    void insert_shouldStoreNewView_andPropagateFailures() {
+        when(orderViewRepository.save(any(OrderView.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        OrderView view = orderReadModel.insert(order(1L));
+
+        assertThat(view.getOrderId()).isEqualTo(1L);
+        assertThat(view.isNew()).isTrue();
+
+        when(orderViewRepository.save(any(OrderView.class))).thenThrow(new IllegalStateException("Database down"));
+
+        assertThatThrownBy(() -> orderReadModel.insert(order(2L))).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void getView_shouldNotTouchOrders_whenViewExists() {
+        OrderView view = new OrderView(1L, new byte[]{'{', '}'}, new byte[0], false);
+        when(orderViewRepository.findById(1L)).thenReturn(Optional.of(view));
+
+        assertThat(orderReadModel.getView(1L)).isSameAs(view);
+        Mockito.verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getView_shouldRenderAndStoreView_whenViewIsMissing() {
+        when(orderViewRepository.findById(1L)).thenReturn(Optional.empty());
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order(1L)));
+        when(orderViewRepository.save(any(OrderView.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        OrderView view = orderReadModel.getView(1L);
+
+        assertThat(view.getOrderId()).isEqualTo(1L);
+        Mockito.verify(orderViewRepository).save(view);
+    }
+
+    @Test
+    void getView_shouldThrowException_whenOrderDoesNotExist() {
+        when(orderViewRepository.findById(99L)).thenReturn(Optional.empty());
+        when(orderRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> orderReadModel.getView(99L))
+                .isInstanceOf(OrderNotFoundException.class)
+                .hasMessage("Order not found with id: 99");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuild_shouldRenderAllOrdersInKeysetPages_whenCalled() {
+        when(orderRepository.findIdsAfter(anyLong(), eq(Limit.of(2)))).thenReturn(List.of());
+        when(orderRepository.findIdsAfter(0L, Limit.of(2))).thenReturn(List.of(1L, 2L));
+        when(orderRepository.findIdsAfter(2L, Limit.of(2))).thenReturn(List.of(5L));
+        when(orderRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(order(1L), order(2L)));
+        when(orderRepository.findAllById(List.of(5L))).thenReturn(List.of(order(5L)));
+
+        long rebuilt = orderReadModel.rebuild();
+
+        assertThat(rebuilt).isEqualTo(3);
+        ArgumentCaptor<List<OrderView>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(orderViewRepository, Mockito.times(2)).saveAll(captor.capture());
+        assertThat(captor.getAllValues())
+                .flatMap(views -> views)
+                .allSatisfy(view -> assertThat(view.isNew()).isFalse())
+                .extracting(OrderView::getOrderId)
+                .containsExactly(1L, 2L, 5L);
+    }
+
+    private static Order order(long id) {
+        Product product = new Product(1L, "Pizza", BigDecimal.valueOf(7.50));
+        OrderItem orderItem = new OrderItem(id, product, 1, Money.ofCents(750), Money.ofCents(750));
+        return Order.builder()
+                .id(id)
+                .tableNumber(4)
+                .items(List.of(orderItem))
+                .subtotal(Money.ofCents(750))
+                .discount(Money.ZERO)
+                .total(Money.ofCents(750))
+                .isHappyHour(false)
+                .createdAt(Instant.parse("2025-07-27T12:00:00Z"))
+                .build();
+    }
+}
@@ -1,26 +1,50 @@
 package com.github.marcelldechant.bistro.order.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.marcelldechant.bistro.order.dto.BatchOrderResultDto;
+import com.github.marcelldechant.bistro.order.dto.CompactOrderResponseDto;
+import com.github.marcelldechant.bistro.order.dto.CompactOrderRowDto;
 import com.github.marcelldechant.bistro.order.dto.CreateOrderDto;
+import com.github.marcelldechant.bistro.order.dto.OrderPageDto;
 import com.github.marcelldechant.bistro.order.dto.OrderResponseDto;
 import com.github.marcelldechant.bistro.order.entity.Order;
+import com.github.marcelldechant.bistro.order.entity.OrderView;
 import com.github.marcelldechant.bistro.order.exception.DuplicateException;
 import com.github.marcelldechant.bistro.order.exception.NoItemsException;
+import com.github.marcelldechant.bistro.order.exception.OrderClosedException;
 import com.github.marcelldechant.bistro.order.exception.OrderNotFoundException;
+import com.github.marcelldechant.bistro.order.pricing.DiscountRule;
+import com.github.marcelldechant.bistro.order.pricing.Money;
+import com.github.marcelldechant.bistro.order.pricing.PricingEngine;
+import com.github.marcelldechant.bistro.order.pricing.PricingProperties;
 import com.github.marcelldechant.bistro.order.repository.OrderRepository;
+import com.github.marcelldechant.bistro.order.stream.OrderEventStream;
 import com.github.marcelldechant.bistro.order.util.TimeProvider;
+import com.github.marcelldechant.bistro.order.writer.DirectOrderWriter;
+import com.github.marcelldechant.bistro.orderitem.dto.CompactOrderItemResponseDto;
 import com.github.marcelldechant.bistro.orderitem.dto.CreateOrderItemDto;
 import com.github.marcelldechant.bistro.orderitem.dto.OrderItemResponseDto;
 import com.github.marcelldechant.bistro.orderitem.entity.OrderItem;
 import com.github.marcelldechant.bistro.orderitem.mapper.OrderItemMapper;
+import com.github.marcelldechant.bistro.product.cache.CatalogBodyCache;
+import com.github.marcelldechant.bistro.product.cache.ProductCache;
 import com.github.marcelldechant.bistro.product.entity.Product;
+import com.github.marcelldechant.bistro.product.exception.PaginationException;
 import com.github.marcelldechant.bistro.product.exception.ProductNotFoundException;
 import com.github.marcelldechant.bistro.product.repository.ProductRepository;
 import com.github.marcelldechant.bistro.product.service.ProductService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,10 +54,21 @@ import static org.mockito.Mockito.when;
 class OrderServiceTest {
     private final OrderRepository orderRepository = Mockito.mock(OrderRepository.class);
     private final ProductRepository productRepository = Mockito.mock(ProductRepository.class);
-    private final TimeProvider timeProvider = Mockito.mock(TimeProvider.class);
-
-    private final ProductService productService = new ProductService(productRepository);
-    private final OrderService orderService = new OrderService(orderRepository, productService, timeProvider);
+    private final TimeProvider timeProvider = Mockito.mock(TimeProvider.class, Mockito.CALLS_REAL_METHODS);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PricingEngine pricingEngine = new PricingEngine(new PricingProperties(List.of(
+            new DiscountRule("Happy Hour", LocalTime.of(17, 0), LocalTime.of(19, 0), null, new BigDecimal("0.10"), null)
+    )));
+
+    private final ProductService productService = new ProductService(productRepository,
+            new ProductCache(100, Duration.ofMinutes(10)), new CatalogBodyCache(new ObjectMapper()));
+    private final OrderReadModel orderReadModel = Mockito.mock(OrderReadModel.class);
+    private final OrderEventStream orderEventStream = Mockito.mock(OrderEventStream.class);
+    private final TransactionTemplate transactionTemplate =
+            new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class));
+    private final OrderService orderService = new OrderService(orderRepository,
+            new DirectOrderWriter(orderRepository, transactionTemplate), orderReadModel, orderEventStream,
+            productService, timeProvider, pricingEngine, meterRegistry, transactionTemplate);
 
     @Test
     void createOrder_shouldCreateOrderSuccessfully_whenValidInput() {
@@ -50,13 +85,13 @@ class OrderServiceTest {
                 .id(1L)
                 .tableNumber(5)
                 .items(List.of(OrderItemMapper.toEntity(itemDto, product)))
-                .subtotal(BigDecimal.valueOf(10.00))
-                .discount(BigDecimal.ZERO)
-                .total(BigDecimal.valueOf(10.00))
+                .subtotal(Money.ofCents(1000))
+                .discount(Money.ZERO)
+                .total(Money.ofCents(1000))
                 .isHappyHour(false)
                 .build();
 
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(product));
         when(orderRepository.save(Mockito.any(Order.class))).thenReturn(savedOrder);
         when(timeProvider.now()).thenReturn(LocalTime.of(17, 0));
 
@@ -66,12 +101,22 @@ class OrderServiceTest {
                 .isNotNull()
                 .extracting(OrderResponseDto::id, OrderResponseDto::tableNumber, OrderResponseDto::subtotal,
                         OrderResponseDto::discount, OrderResponseDto::total, OrderResponseDto::isHappyHour)
-                .containsExactly(1L, 5, BigDecimal.valueOf(10.00), BigDecimal.ZERO, BigDecimal.valueOf(10.00), false);
+                .containsExactly(1L, 5, new BigDecimal("10.00"), new BigDecimal("0.00"), new BigDecimal("10.00"), false);
 
         assertThat(result.items())
                 .hasSize(1)
                 .extracting(item -> item.product().getName(), OrderItemResponseDto::quantity)
                 .containsExactly(tuple("Burger", 2));
+        Mockito.verify(orderReadModel).insert(savedOrder);
+        Mockito.verify(orderEventStream).publish(OrderEventStream.ORDER_CREATED, result);
+    }
+
+    @Test
+    void createOrder_shouldNotPublishEvent_whenOrderIsRejected() {
+        CreateOrderDto dto = new CreateOrderDto(1, List.of());
+
+        assertThatThrownBy(() -> orderService.createOrder(dto)).isInstanceOf(NoItemsException.class);
+        Mockito.verifyNoInteractions(orderEventStream);
     }
 
     @Test
@@ -100,26 +145,270 @@ class OrderServiceTest {
         CreateOrderItemDto item = new CreateOrderItemDto(99L, 1);
         CreateOrderDto dto = new CreateOrderDto(4, List.of(item));
 
-        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+        when(productRepository.findAllById(List.of(99L))).thenReturn(List.of());
 
         assertThatThrownBy(() -> orderService.createOrder(dto))
                 .isInstanceOf(ProductNotFoundException.class)
                 .hasMessageContaining("Product not found with id: 99");
     }
 
+    @Test
+    void createOrder_shouldResolveAllProductsWithSingleLookup() {
+        CreateOrderItemDto item1 = new CreateOrderItemDto(1L, 2);
+        CreateOrderItemDto item2 = new CreateOrderItemDto(2L, 1);
+        CreateOrderDto dto = new CreateOrderDto(8, List.of(item1, item2));
+
+        Product burger = new Product(1L, "Burger", BigDecimal.valueOf(5.00));
+        Product cola = new Product(2L, "Cola", BigDecimal.valueOf(2.50));
+
+        when(productRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(cola, burger));
+        when(orderRepository.save(Mockito.any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(timeProvider.now()).thenReturn(LocalTime.of(12, 0));
+
+        OrderResponseDto result = orderService.createOrder(dto);
+
+        assertThat(result.items())
+                .extracting(item -> item.product().getName(), OrderItemResponseDto::quantity)
+                .containsExactly(tuple("Burger", 2), tuple("Cola", 1));
+
+        Mockito.verify(productRepository).findAllById(List.of(1L, 2L));
+        Mockito.verify(productRepository, Mockito.never()).findById(Mockito.anyLong());
+    }
+
+    @Test
+    void createOrder_shouldApplyDiscount_andReadClockOnce_whenHappyHour() {
+        CreateOrderDto dto = new CreateOrderDto(6, List.of(new CreateOrderItemDto(1L, 4)));
+        Product burger = new Product(1L, "Burger", new BigDecimal("5.00"));
+
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(burger));
+        when(orderRepository.save(Mockito.any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(timeProvider.now()).thenReturn(LocalTime.of(18, 30));
+
+        OrderResponseDto result = orderService.createOrder(dto);
+
+        assertThat(result.subtotal()).isEqualByComparingTo("20.00");
+        assertThat(result.discount()).isEqualByComparingTo("2.00");
+        assertThat(result.total()).isEqualByComparingTo("18.00");
+        assertThat(result.isHappyHour()).isTrue();
+        Mockito.verify(timeProvider, Mockito.times(1)).snapshot();
+        Mockito.verify(timeProvider, Mockito.times(1)).now();
+    }
+
+    @Test
+    void createOrder_shouldRecordTimer_taggedByItemCountAndHappyHour() {
+        CreateOrderDto dto = new CreateOrderDto(6, List.of(new CreateOrderItemDto(1L, 1), new CreateOrderItemDto(2L, 1)));
+        Product burger = new Product(1L, "Burger", new BigDecimal("5.00"));
+        Product cola = new Product(2L, "Cola", new BigDecimal("2.50"));
+
+        when(productRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(burger, cola));
+        when(orderRepository.save(Mockito.any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(timeProvider.now()).thenReturn(LocalTime.of(18, 0));
+
+        orderService.createOrder(dto);
+
+        assertThat(meterRegistry.get("bistro.order.create")
+                .tags("items", "2-5", "happy_hour", "true", "exception", "none")
+                .timer()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get("bistro.order.items").summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void createOrder_shouldRecordTimerWithException_whenOrderIsRejected() {
+        CreateOrderDto dto = new CreateOrderDto(6, List.of());
+
+        assertThatThrownBy(() -> orderService.createOrder(dto)).isInstanceOf(NoItemsException.class);
+
+        assertThat(meterRegistry.get("bistro.order.create")
+                .tags("items", "0", "exception", "NoItemsException")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void createOrders_shouldReturnPerOrderResults_andSaveValidOrdersTogether() {
+        CreateOrderDto valid = new CreateOrderDto(1, List.of(new CreateOrderItemDto(1L, 2)));
+        CreateOrderDto unknownProduct = new CreateOrderDto(2, List.of(new CreateOrderItemDto(99L, 1)));
+        CreateOrderDto empty = new CreateOrderDto(3, List.of());
+        CreateOrderDto duplicate = new CreateOrderDto(4, List.of(
+                new CreateOrderItemDto(2L, 1),
+                new CreateOrderItemDto(2L, 1)
+        ));
+        CreateOrderDto alsoValid = new CreateOrderDto(5, List.of(new CreateOrderItemDto(2L, 1)));
+
+        Product burger = new Product(1L, "Burger", BigDecimal.valueOf(5.00));
+        Product cola = new Product(2L, "Cola", BigDecimal.valueOf(2.50));
+
+        when(productRepository.findAllById(List.of(1L, 99L, 2L))).thenReturn(List.of(burger, cola));
+        when(orderRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(timeProvider.now()).thenReturn(LocalTime.of(12, 0));
+
+        List<BatchOrderResultDto> results = orderService.createOrders(
+                List.of(valid, unknownProduct, empty, duplicate, alsoValid)
+        );
+
+        assertThat(results)
+                .extracting(BatchOrderResultDto::index, BatchOrderResultDto::statusCode, BatchOrderResultDto::message)
+                .containsExactly(
+                        tuple(0, 201, null),
+                        tuple(1, 404, "Product not found with id: 99"),
+                        tuple(2, 400, "Order must contain at least one item"),
+                        tuple(3, 409, "Duplicate products in order are not allowed"),
+                        tuple(4, 201, null)
+                );
+        assertThat(results.get(0).order().tableNumber()).isEqualTo(1);
+        assertThat(results.get(4).order().tableNumber()).isEqualTo(5);
+
+        Mockito.verify(productRepository).findAllById(List.of(1L, 99L, 2L));
+        Mockito.verify(orderRepository).saveAll(Mockito.argThat(orders -> ((List<?>) orders).size() == 2));
+        Mockito.verify(orderRepository, Mockito.never()).save(Mockito.any(Order.class));
+        Mockito.verify(orderReadModel, Mockito.times(2)).insert(Mockito.any(Order.class));
+    }
+
+    @Test
+    void createOrders_shouldRejectOnlyTheOrder_whenItsItemsAreMissing() {
+        CreateOrderDto valid = new CreateOrderDto(1, List.of(new CreateOrderItemDto(1L, 2)));
+        CreateOrderDto missingItems = new CreateOrderDto(2, null);
+
+        Product burger = new Product(1L, "Burger", BigDecimal.valueOf(5.00));
+
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(burger));
+        when(orderRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(timeProvider.now()).thenReturn(LocalTime.of(12, 0));
+
+        List<BatchOrderResultDto> results = orderService.createOrders(List.of(valid, missingItems));
+
+        assertThat(results)
+                .extracting(BatchOrderResultDto::index, BatchOrderResultDto::statusCode, BatchOrderResultDto::message)
+                .containsExactly(
+                        tuple(0, 201, null),
+                        tuple(1, 400, "Order must contain at least one item")
+                );
+        Mockito.verify(orderReadModel).insert(Mockito.any(Order.class));
+    }
+
+    @Test
+    void createOrders_shouldThrowException_whenBatchIsEmpty() {
+        List<CreateOrderDto> emptyBatch = List.of();
+
+        assertThatThrownBy(() -> orderService.createOrders(emptyBatch))
+                .isInstanceOf(NoItemsException.class)
+                .hasMessageContaining("Batch must contain at least one order");
+    }
+
+    @Test
+    void appendItems_shouldAddOnlyTheRoundToRunningTotals_whenOrderIsOpen() {
+        Product burger = new Product(2L, "Burger", BigDecimal.valueOf(7.00));
+        Order tab = listedOrder(3L);
+        tab.setItems(new ArrayList<>(tab.getItems()));
+        when(productRepository.findAllById(List.of(2L))).thenReturn(List.of(burger));
+        when(orderRepository.findTableNumberById(3L)).thenReturn(Optional.of(1));
+        when(orderRepository.findById(3L)).thenReturn(Optional.of(tab));
+        when(timeProvider.now()).thenReturn(LocalTime.of(18, 0));
+
+        OrderResponseDto result = orderService.appendItems(3L, List.of(new CreateOrderItemDto(2L, 2)));
+
+        assertThat(result)
+                .extracting(OrderResponseDto::subtotal, OrderResponseDto::discount, OrderResponseDto::total,
+                        OrderResponseDto::isHappyHour)
+                .containsExactly(new BigDecimal("16.50"), new BigDecimal("1.40"), new BigDecimal("15.10"), true);
+        assertThat(result.items())
+                .extracting(item -> item.product().getName(), OrderItemResponseDto::quantity)
+                .containsExactly(tuple("Cola", 1), tuple("Burger", 2));
+        Mockito.verify(orderReadModel).replace(tab);
+        Mockito.verify(orderEventStream).publish(OrderEventStream.ITEMS_ADDED, result);
+    }
+
+    @Test
+    void appendItems_shouldAddQuantityToExistingLine_whenProductIsAlreadyOnTheTab() {
+        Product cola = new Product(1L, "Cola", BigDecimal.valueOf(2.50));
+        Order tab = listedOrder(3L);
+        tab.setItems(new ArrayList<>(tab.getItems()));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(cola));
+        when(orderRepository.findTableNumberById(3L)).thenReturn(Optional.of(1));
+        when(orderRepository.findById(3L)).thenReturn(Optional.of(tab));
+        when(timeProvider.now()).thenReturn(LocalTime.of(14, 0));
+
+        OrderResponseDto result = orderService.appendItems(3L, List.of(new CreateOrderItemDto(1L, 2)));
+
+        assertThat(result.total()).isEqualByComparingTo("7.50");
+        assertThat(result.items())
+                .extracting(item -> item.product().getName(), OrderItemResponseDto::quantity,
+                        OrderItemResponseDto::totalPrice)
+                .containsExactly(tuple("Cola", 3, new BigDecimal("7.50")));
+    }
+
+    @Test
+    void appendItems_shouldAddNewLine_whenPriceOfProductOnTheTabChanged() {
+        Product cola = new Product(1L, "Cola", BigDecimal.valueOf(3.00));
+        Order tab = listedOrder(3L);
+        tab.setItems(new ArrayList<>(tab.getItems()));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(cola));
+        when(orderRepository.findTableNumberById(3L)).thenReturn(Optional.of(1));
+        when(orderRepository.findById(3L)).thenReturn(Optional.of(tab));
+        when(timeProvider.now()).thenReturn(LocalTime.of(14, 0));
+
+        OrderResponseDto result = orderService.appendItems(3L, List.of(new CreateOrderItemDto(1L, 1)));
+
+        assertThat(result.total()).isEqualByComparingTo("5.50");
+        assertThat(result.items())
+                .extracting(OrderItemResponseDto::quantity, OrderItemResponseDto::pricePerUnit)
+                .containsExactly(tuple(1, new BigDecimal("2.50")), tuple(1, new BigDecimal("3.00")));
+    }
+
+    @Test
+    void appendItems_shouldThrowException_whenOrderIsClosed() {
+        Product cola = new Product(1L, "Cola", BigDecimal.valueOf(2.50));
+        Order tab = listedOrder(3L);
+        tab.setClosedAt(Instant.parse("2025-07-27T13:00:00Z"));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(cola));
+        when(orderRepository.findTableNumberById(3L)).thenReturn(Optional.of(1));
+        when(orderRepository.findById(3L)).thenReturn(Optional.of(tab));
+
+        assertThatThrownBy(() -> orderService.appendItems(3L, List.of(new CreateOrderItemDto(1L, 1))))
+                .isInstanceOf(OrderClosedException.class)
+                .hasMessage("Order 3 is already closed");
+        Mockito.verify(orderRepository, Mockito.never()).flush();
+    }
+
+    @Test
+    void appendItems_shouldThrowException_whenOrderDoesNotExist() {
+        Product cola = new Product(1L, "Cola", BigDecimal.valueOf(2.50));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(cola));
+        when(orderRepository.findTableNumberById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> orderService.appendItems(99L, List.of(new CreateOrderItemDto(1L, 1))))
+                .isInstanceOf(OrderNotFoundException.class)
+                .hasMessage("Order not found with id: 99");
+    }
+
+    @Test
+    void closeOrder_shouldStampClosingTimeAndReplaceView_whenOrderIsOpen() {
+        Instant closedAt = Instant.parse("2025-07-27T13:00:00Z");
+        Order tab = listedOrder(3L);
+        OrderView view = new OrderView(3L, new byte[0], new byte[0], false);
+        when(orderRepository.findTableNumberById(3L)).thenReturn(Optional.of(1));
+        when(orderRepository.findById(3L)).thenReturn(Optional.of(tab));
+        when(timeProvider.instant()).thenReturn(closedAt);
+        when(orderReadModel.replace(tab)).thenReturn(view);
+
+        assertThat(orderService.closeOrder(3L)).isSameAs(view);
+        assertThat(tab.getClosedAt()).isEqualTo(closedAt);
+    }
+
     @Test
     void getOrderById_shouldReturnOrderResponseDto_whenOrderExists() {
         long orderId = 1L;
         Product product = new Product(1L, "Cola", BigDecimal.valueOf(2.50));
-        OrderItem orderItem = new OrderItem(1L, product, 2, BigDecimal.valueOf(2.50), BigDecimal.valueOf(5.00));
+        OrderItem orderItem = new OrderItem(1L, product, 2, Money.ofCents(250), Money.ofCents(500));
 
         Order order = Order.builder()
                 .id(orderId)
                 .tableNumber(7)
                 .items(List.of(orderItem))
-                .subtotal(BigDecimal.valueOf(5.00))
-                .discount(BigDecimal.ZERO)
-                .total(BigDecimal.valueOf(5.00))
+                .subtotal(Money.ofCents(500))
+                .discount(Money.ZERO)
+                .total(Money.ofCents(500))
                 .isHappyHour(false)
                 .build();
 
@@ -131,8 +420,8 @@ class OrderServiceTest {
                 .isNotNull()
                 .extracting(OrderResponseDto::id, OrderResponseDto::tableNumber, OrderResponseDto::subtotal,
                         OrderResponseDto::discount, OrderResponseDto::total, OrderResponseDto::isHappyHour)
-                .containsExactly(orderId, 7, BigDecimal.valueOf(5.00),
-                        BigDecimal.ZERO, BigDecimal.valueOf(5.00), false);
+                .containsExactly(orderId, 7, new BigDecimal("5.00"),
+                        new BigDecimal("0.00"), new BigDecimal("5.00"), false);
 
         assertThat(response.items())
                 .hasSize(1)
@@ -140,6 +429,108 @@ class OrderServiceTest {
                 .containsExactly(tuple("Cola", 2));
     }
 
+    @Test
+    void getOrders_shouldReturnPageInKeysetOrder_whenPageIsFull() {
+        Instant from = Instant.parse("2025-07-27T08:00:00Z");
+        Instant to = Instant.parse("2025-07-27T23:00:00Z");
+        when(orderRepository.findPageIds(from, 0, to, Limit.of(2))).thenReturn(List.of(9L, 4L));
+        when(orderRepository.findAllById(List.of(9L, 4L))).thenReturn(List.of(listedOrder(4L), listedOrder(9L)));
+
+        OrderPageDto page = orderService.getOrders(from, to, null, 2);
+
+        assertThat(page.orders()).extracting(OrderResponseDto::id).containsExactly(9L, 4L);
+        assertThat(page.nextAfterId()).isEqualTo(4L);
+    }
+
+    @Test
+    void getOrders_shouldContinueFromCursorTimestamp_whenAfterIdIsGiven() {
+        Instant from = Instant.parse("2025-07-27T08:00:00Z");
+        Instant to = Instant.parse("2025-07-27T23:00:00Z");
+        Instant cursor = Instant.parse("2025-07-27T12:00:00Z");
+        when(orderRepository.findCreatedAtById(4L)).thenReturn(Optional.of(cursor));
+        when(orderRepository.findPageIds(cursor, 4L, to, Limit.of(50))).thenReturn(List.of(5L));
+        when(orderRepository.findAllById(List.of(5L))).thenReturn(List.of(listedOrder(5L)));
+
+        OrderPageDto page = orderService.getOrders(from, to, 4L, null);
+
+        assertThat(page.orders()).extracting(OrderResponseDto::id).containsExactly(5L);
+        assertThat(page.nextAfterId()).isNull();
+    }
+
+    @Test
+    void getOrders_shouldContinueAfterCursorId_whenCursorWasCreatedAtFrom() {
+        Instant from = Instant.parse("2025-07-27T08:00:00Z");
+        Instant to = Instant.parse("2025-07-27T23:00:00Z");
+        when(orderRepository.findCreatedAtById(4L)).thenReturn(Optional.of(from));
+        when(orderRepository.findPageIds(from, 4L, to, Limit.of(50))).thenReturn(List.of(5L));
+        when(orderRepository.findAllById(List.of(5L))).thenReturn(List.of(listedOrder(5L)));
+
+        OrderPageDto page = orderService.getOrders(from, to, 4L, null);
+
+        assertThat(page.orders()).extracting(OrderResponseDto::id).containsExactly(5L);
+    }
+
+    @Test
+    void getOrders_shouldThrowException_whenRangeIsEmpty() {
+        Instant instant = Instant.parse("2025-07-27T08:00:00Z");
+
+        assertThatThrownBy(() -> orderService.getOrders(instant, instant, null, null))
+                .isInstanceOf(PaginationException.class)
+                .hasMessage("Parameter from must be before to");
+    }
+
+    @Test
+    void getOrders_shouldThrowException_whenAfterIdIsUnknown() {
+        when(orderRepository.findCreatedAtById(42L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> orderService.getOrders(Instant.EPOCH, Instant.parse("2025-07-27T23:00:00Z"), 42L, 10))
+                .isInstanceOf(PaginationException.class)
+                .hasMessage("Unknown afterId: 42");
+    }
+
+    @Test
+    void getOrders_shouldThrowException_whenLimitIsOutOfRange() {
+        Instant to = Instant.parse("2025-07-27T23:00:00Z");
+
+        assertThatThrownBy(() -> orderService.getOrders(Instant.EPOCH, to, null, 1001))
+                .isInstanceOf(PaginationException.class)
+                .hasMessage("Limit must be between 1 and 1000");
+    }
+
+    @Test
+    void getCompactOrderById_shouldGroupProjectionRowsIntoOneOrder() {
+        long orderId = 3L;
+        List<CompactOrderRowDto> rows = List.of(
+                new CompactOrderRowDto(orderId, 4, Money.ofCents(950), Money.ZERO, Money.ofCents(950),
+                        false, 10L, 1L, "Cola", 3, Money.ofCents(250), Money.ofCents(750)),
+                new CompactOrderRowDto(orderId, 4, Money.ofCents(950), Money.ZERO, Money.ofCents(950),
+                        false, 11L, 6L, "Water", 1, Money.ofCents(200), Money.ofCents(200))
+        );
+
+        when(orderRepository.findCompactRowsByOrderId(orderId)).thenReturn(rows);
+
+        CompactOrderResponseDto response = orderService.getCompactOrderById(orderId);
+
+        assertThat(response)
+                .extracting(CompactOrderResponseDto::id, CompactOrderResponseDto::tableNumber,
+                        CompactOrderResponseDto::total, CompactOrderResponseDto::isHappyHour)
+                .containsExactly(orderId, 4, new BigDecimal("9.50"), false);
+        assertThat(response.items())
+                .extracting(CompactOrderItemResponseDto::productId, CompactOrderItemResponseDto::productName,
+                        CompactOrderItemResponseDto::quantity)
+                .containsExactly(tuple(1L, "Cola", 3), tuple(6L, "Water", 1));
+        Mockito.verify(orderRepository, Mockito.never()).findById(Mockito.anyLong());
+    }
+
+    @Test
+    void getCompactOrderById_shouldThrowException_whenOrderDoesNotExist() {
+        when(orderRepository.findCompactRowsByOrderId(999L)).thenReturn(List.of());
+
+        assertThatThrownBy(() -> orderService.getCompactOrderById(999L))
+                .isInstanceOf(OrderNotFoundException.class)
+                .hasMessageContaining("Order not found with id: 999");
+    }
+
     @Test
     void getOrderById_shouldThrowException_whenOrderDoesNotExist() {
         long nonExistentId = 999L;
@@ -155,15 +546,15 @@ class OrderServiceTest {
     void getOrderByIdEntity_shouldReturnOrder_whenOrderExists() {
         long orderId = 1L;
         Product product = new Product(1L, "Pizza", BigDecimal.valueOf(7.50));
-        OrderItem orderItem = new OrderItem(1L, product, 1, BigDecimal.valueOf(7.50), BigDecimal.valueOf(7.50));
+        OrderItem orderItem = new OrderItem(1L, product, 1, Money.ofCents(750), Money.ofCents(750));
 
         Order order = Order.builder()
                 .id(orderId)
                 .tableNumber(2)
                 .items(List.of(orderItem))
-                .subtotal(BigDecimal.valueOf(7.50))
-                .discount(BigDecimal.ZERO)
-                .total(BigDecimal.valueOf(7.50))
+                .subtotal(Money.ofCents(750))
+                .discount(Money.ZERO)
+                .total(Money.ofCents(750))
                 .isHappyHour(false)
                 .build();
 
@@ -175,8 +566,8 @@ class OrderServiceTest {
                 .isNotNull()
                 .extracting(Order::getId, Order::getTableNumber, Order::getSubtotal,
                         Order::getDiscount, Order::getTotal, Order::isHappyHour)
-                .containsExactly(orderId, 2, BigDecimal.valueOf(7.50),
-                        BigDecimal.ZERO, BigDecimal.valueOf(7.50), false);
+                .containsExactly(orderId, 2, Money.ofCents(750),
+                        Money.ZERO, Money.ofCents(750), false);
 
         assertThat(result.getItems())
                 .hasSize(1)
@@ -197,4 +588,18 @@ class OrderServiceTest {
                 .isInstanceOf(OrderNotFoundException.class)
                 .hasMessageContaining("Order not found with id: " + missingId);
     }
-}
\ No newline at end of file
+
+    private static Order listedOrder(long id) {
+        Product product = new Product(1L, "Cola", BigDecimal.valueOf(2.50));
+        return Order.builder()
+                .id(id)
+                .tableNumber(1)
+                .items(List.of(new OrderItem(id, product, 1, Money.ofCents(250), Money.ofCents(250))))
+                .subtotal(Money.ofCents(250))
+                .discount(Money.ZERO)
+                .total(Money.ofCents(250))
+                .isHappyHour(false)
+                .createdAt(Instant.parse("2025-07-27T12:00:00Z"))
+                .build();
+    }
+}
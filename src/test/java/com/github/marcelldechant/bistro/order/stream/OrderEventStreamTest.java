@@ -0,0 +1,209 @@
+package com.github.marcelldechant.bistro.order.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.marcelldechant.bistro.order.dto.OrderResponseDto;
+import com.github.marcelldechant.bistro.order.stream.OrderEventStream.SlowConsumerPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class OrderEventStreamTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderEventStream orderEventStream = stream(4, 3, SlowConsumerPolicy.DISCONNECT);
+
+    @AfterEach
+    void stop() {
+        orderEventStream.stop();
+    }
+
+    @Test
+    void publish_shouldDeliverEventToEverySubscriber_whenSubscribed() {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        orderEventStream.register(first, null);
+        orderEventStream.register(second, null);
+
+        orderEventStream.publish(OrderEventStream.ORDER_CREATED, order(7L));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> first.events.size() == 1 && second.events.size() == 1);
+        assertThat(first.events.getFirst())
+                .contains("id:1\n")
+                .contains("event:order-created\n")
+                .contains("\"id\":7");
+        assertThat(second.events).isEqualTo(first.events);
+    }
+
+    @Test
+    void register_shouldReplayOnlyMissedEventsStillInRing_whenLastEventIdIsGiven() {
+        for (long id = 1; id <= 5; id++) {
+            orderEventStream.publish(OrderEventStream.ORDER_CREATED, order(id));
+        }
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        orderEventStream.register(resumed, 1L);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> resumed.events.size() == 3);
+        assertThat(resumed.eventIds()).containsExactly("3", "4", "5");
+    }
+
+    @Test
+    void register_shouldNotReplayAnything_whenLastEventIdIsMissing() {
+        orderEventStream.publish(OrderEventStream.ORDER_CREATED, order(1L));
+
+        RecordingEmitter fresh = new RecordingEmitter();
+        orderEventStream.register(fresh, null);
+        orderEventStream.publish(OrderEventStream.ORDER_CREATED, order(2L));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> fresh.events.size() == 1);
+        assertThat(fresh.eventIds()).containsExactly("2");
+    }
+
+    @Test
+    void publish_shouldDisconnectSubscriber_whenBufferIsFull() {
+        orderEventStream = stream(1, 3, SlowConsumerPolicy.DISCONNECT);
+        RecordingEmitter slow = new RecordingEmitter();
+        RecordingEmitter fast = new RecordingEmitter();
+        slow.blockSends();
+        orderEventStream.register(slow, null);
+        orderEventStream.register(fast, null);
+
+        orderEventStream.publish(OrderEventStream.ORDER_CREATED, order(1L));
+        await().atMost(Duration.ofSeconds(5)).until(() -> slow.sending);
+        orderEventStream.publish(OrderEventStream.ORDER_CREATED, order(2L));
+        await().atMost(Duration.ofSeconds(5)).until(() -> fast.events.size() == 2);
+        orderEventStream.publish(OrderEventStream.ORDER_CREATED, order(3L));
+        slow.releaseSends();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> slow.completed && fast.events.size() == 3);
+        assertThat(orderEventStream.subscriberCount()).isEqualTo(1);
+        assertThat(slow.eventIds()).containsExactly("1");
+        assertThat(meterRegistry.get("bistro.order.stream.disconnected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void publish_shouldDropOldestPendingEvent_whenBufferIsFullAndPolicyIsDropOldest() {
+        orderEventStream = stream(1, 3, SlowConsumerPolicy.DROP_OLDEST);
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.blockSends();
+        orderEventStream.register(slow, null);
+
+        orderEventStream.publish(OrderEventStream.ORDER_CREATED, order(1L));
+        await().atMost(Duration.ofSeconds(5)).until(() -> slow.sending);
+        orderEventStream.publish(OrderEventStream.ORDER_CREATED, order(2L));
+        orderEventStream.publish(OrderEventStream.ORDER_CREATED, order(3L));
+        slow.releaseSends();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> slow.events.size() == 2);
+        assertThat(slow.eventIds()).containsExactly("1", "3");
+        assertThat(slow.completed).isFalse();
+        assertThat(meterRegistry.get("bistro.order.stream.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void publish_shouldRemoveSubscriber_whenSendFails() {
+        RecordingEmitter broken = new RecordingEmitter();
+        broken.failSends = true;
+        orderEventStream.register(broken, null);
+
+        orderEventStream.publish(OrderEventStream.ORDER_CREATED, order(1L));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> orderEventStream.subscriberCount() == 0);
+    }
+
+    @Test
+    void publish_shouldKeepServingOtherSubscribers_andRemoveSubscriber_whenWriteTimesOut() {
+        RecordingEmitter stalled = new RecordingEmitter();
+        RecordingEmitter fast = new RecordingEmitter();
+        stalled.blockSends();
+        stalled.timeOutSends = true;
+        orderEventStream.register(stalled, null);
+        orderEventStream.register(fast, null);
+
+        orderEventStream.publish(OrderEventStream.ORDER_CREATED, order(1L));
+        await().atMost(Duration.ofSeconds(5)).until(() -> stalled.sending);
+        orderEventStream.publish(OrderEventStream.ORDER_CREATED, order(2L));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> fast.events.size() == 2);
+        stalled.releaseSends();
+        await().atMost(Duration.ofSeconds(5)).until(() -> orderEventStream.subscriberCount() == 1);
+        assertThat(stalled.events).isEmpty();
+    }
+
+    private OrderEventStream stream(int bufferSize, int replaySize, SlowConsumerPolicy policy) {
+        return new OrderEventStream(new ObjectMapper().findAndRegisterModules(), meterRegistry, bufferSize,
+                replaySize, policy, Duration.ofMinutes(1), 2);
+    }
+
+    private static OrderResponseDto order(long id) {
+        return new OrderResponseDto(id, 5, List.of(), new BigDecimal("2.50"), new BigDecimal("0.00"),
+                new BigDecimal("2.50"), false, Instant.parse("2025-07-27T12:00:00Z"), null);
+    }
+
+    /*
+     * Captures the serialized events instead of writing them to a response.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private volatile boolean blocking;
+        private volatile boolean sending;
+        private volatile boolean completed;
+        private volatile boolean failSends;
+        private volatile boolean timeOutSends;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failSends) {
+                throw new IOException("Broken pipe");
+            }
+            sending = true;
+            if (blocking) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (timeOutSends) {
+                throw new SocketTimeoutException("Write timed out");
+            }
+            events.add(builder.build().stream()
+                    .map(part -> part.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        void blockSends() {
+            blocking = true;
+        }
+
+        void releaseSends() {
+            gate.countDown();
+        }
+
+        List<String> eventIds() {
+            return events.stream()
+                    .map(event -> event.substring(event.indexOf("id:") + 3, event.indexOf('\n')))
+                    .toList();
+        }
+    }
+}
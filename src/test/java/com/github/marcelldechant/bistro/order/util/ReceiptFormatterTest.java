@@ -0,0 +1,139 @@
+package com.github.marcelldechant.bistro.order.util;
+
+import com.github.marcelldechant.bistro.order.entity.Order;
+import com.github.marcelldechant.bistro.order.pricing.Money;
+import com.github.marcelldechant.bistro.orderitem.entity.OrderItem;
+import com.github.marcelldechant.bistro.product.entity.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReceiptFormatterTest {
+    private final Locale defaultLocale = Locale.getDefault();
+
+    @AfterEach
+    void restoreLocale() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"de-DE", "en-US", "fr-CH", "ar-EG"})
+    void format_isIdenticalToStringFormatRendering(String languageTag) {
+        Locale.setDefault(Locale.forLanguageTag(languageTag));
+
+        for (Order order : List.of(order(false), order(true))) {
+            assertThat(ReceiptFormatter.format(order)).isEqualTo(legacyFormat(order));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"de-DE", "en-US"})
+    void render_writesSameOutputAsFormat(String languageTag) throws Exception {
+        Locale.setDefault(Locale.forLanguageTag(languageTag));
+        Order order = order(true);
+        StringWriter writer = new StringWriter();
+
+        ReceiptFormatter.render(order, writer);
+
+        assertThat(writer).hasToString(ReceiptFormatter.format(order));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "en-US, 1.25, Discount: 12.5%",
+            "de-DE, 1.25, 'Discount: 12,5%'",
+            "en-US, 0.33, Discount: 3.3%",
+            "en-US, 2.00, Discount: 20%"
+    })
+    void format_printsAppliedDiscountRate(String languageTag, String discount, String expectedLine) {
+        Locale.setDefault(Locale.forLanguageTag(languageTag));
+        Product cola = new Product(1L, "cola", new BigDecimal("2.50"));
+        Money subtotal = Money.ofCents(1000);
+        Money discountAmount = Money.of(new BigDecimal(discount));
+        Order order = Order.builder()
+                .id(1L)
+                .tableNumber(3)
+                .items(List.of(new OrderItem(1L, cola, 4, Money.ofCents(250), subtotal)))
+                .subtotal(subtotal)
+                .discount(discountAmount)
+                .total(subtotal.minus(discountAmount))
+                .isHappyHour(true)
+                .build();
+
+        assertThat(ReceiptFormatter.format(order).lines()).contains(expectedLine);
+    }
+
+    @Test
+    void format_printsRuleRate_whenDiscountWasRoundedToTheCent() {
+        Locale.setDefault(Locale.US);
+        Product cola = new Product(1L, "cola", new BigDecimal("34.50"));
+        Money subtotal = Money.ofCents(3450);
+        Money discount = subtotal.percentage(1000);
+        Order order = Order.builder()
+                .id(1L)
+                .tableNumber(3)
+                .items(List.of(new OrderItem(1L, cola, 1, subtotal, subtotal)))
+                .subtotal(subtotal)
+                .discount(discount)
+                .total(subtotal.minus(discount))
+                .isHappyHour(true)
+                .discountRate(1000)
+                .build();
+
+        assertThat(ReceiptFormatter.format(order).lines()).contains("Discount: 10%");
+    }
+
+    private static Order order(boolean isHappyHour) {
+        Product cola = new Product(1L, "cola", new BigDecimal("2.50"));
+        Product steak = new Product(2L, "steak", new BigDecimal("12345.67"));
+        Product bread = new Product(3L, "bread", new BigDecimal("0.05"));
+
+        List<OrderItem> items = List.of(
+                new OrderItem(1L, cola, 2, Money.ofCents(250), Money.ofCents(500)),
+                new OrderItem(2L, steak, 12, Money.ofCents(1234567), Money.ofCents(14814804)),
+                new OrderItem(3L, bread, 1, Money.ofCents(5), Money.ofCents(5))
+        );
+        Money subtotal = Money.ofCents(14815309);
+        Money discount = isHappyHour ? subtotal.percentage(1000) : Money.ZERO;
+
+        return Order.builder()
+                .id(1L)
+                .tableNumber(12)
+                .items(items)
+                .subtotal(subtotal)
+                .discount(discount)
+                .total(subtotal.minus(discount))
+                .isHappyHour(isHappyHour)
+                .build();
+    }
+
+    /*
+     * The String.format based implementation the receipt output has to stay byte-for-byte compatible with.
+     */
+    private static String legacyFormat(Order order) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("-------------------------\n");
+        sb.append("Table Nr. ").append(order.getTableNumber()).append("\n");
+        sb.append("-------------------------\n");
+
+        for (OrderItem item : order.getItems()) {
+            sb.append(String.format("%d x %s @ %.2f = %.2f%n", item.getQuantity(), item.getProduct().getName(),
+                    item.getPricePerUnit().toBigDecimal(), item.getTotalPrice().toBigDecimal()));
+        }
+
+        sb.append("-------------------------\n");
+        sb.append(String.format("Subtotal: %.2f\n", order.getSubtotal().toBigDecimal()));
+        sb.append(order.isHappyHour() ? String.format("Discount: %s%n", "10%") : "");
+        sb.append(String.format("Total: %.2f\n", order.getTotal().toBigDecimal()));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.marcelldechant.bistro.order.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SystemTimeProviderTest {
+    private final SystemTimeProvider timeProvider = new SystemTimeProvider();
+
+    @Test
+    void snapshot_shouldDeriveDateTimeAndInstantFromTheSameClockRead() {
+        TimeProvider.Snapshot snapshot = timeProvider.snapshot();
+
+        assertThat(snapshot.dateTime())
+                .isEqualTo(LocalDateTime.ofInstant(snapshot.instant(), timeProvider.clock().getZone()));
+    }
+}
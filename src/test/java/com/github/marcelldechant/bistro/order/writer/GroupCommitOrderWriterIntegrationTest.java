@@ -0,0 +1,76 @@
+package com.github.marcelldechant.bistro.order.writer;
+
+import com.github.marcelldechant.bistro.order.entity.Order;
+import com.github.marcelldechant.bistro.order.pricing.Money;
+import com.github.marcelldechant.bistro.order.repository.OrderRepository;
+import com.github.marcelldechant.bistro.orderitem.entity.OrderItem;
+import com.github.marcelldechant.bistro.product.entity.Product;
+import com.github.marcelldechant.bistro.product.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+        "order.write-behind.enabled=true",
+        "order.write-behind.max-delay=50ms"
+})
+@DirtiesContext
+class GroupCommitOrderWriterIntegrationTest {
+    @Autowired
+    private OrderWriter orderWriter;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void write_shouldPersistOrdersWithItems_whenWriteBehindIsEnabled() throws Exception {
+        await().atMost(Duration.ofSeconds(10)).until(() -> productRepository.count() == 7);
+        Product cola = productRepository.findById(1L).orElseThrow();
+        assertThat(orderWriter).isInstanceOf(GroupCommitOrderWriter.class);
+
+        List<Future<Order>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int table = 1; table <= 20; table++) {
+                Order order = order(table, cola);
+                results.add(executor.submit(() -> orderWriter.write(order)));
+            }
+        }
+
+        for (Future<Order> result : results) {
+            Order persisted = orderRepository.findById(result.get().getId()).orElseThrow();
+            assertThat(persisted.getItems()).hasSize(1);
+            assertThat(persisted.getItems().getFirst().getProduct().getName()).isEqualTo("cola");
+        }
+    }
+
+    private static Order order(int tableNumber, Product product) {
+        OrderItem item = OrderItem.builder()
+                .product(product)
+                .quantity(2)
+                .pricePerUnit(Money.of(product.getPrice()))
+                .totalPrice(Money.of(product.getPrice()).times(2))
+                .build();
+        return Order.builder()
+                .tableNumber(tableNumber)
+                .items(new ArrayList<>(List.of(item)))
+                .subtotal(item.getTotalPrice())
+                .discount(Money.ZERO)
+                .total(item.getTotalPrice())
+                .isHappyHour(false)
+                .build();
+    }
+}
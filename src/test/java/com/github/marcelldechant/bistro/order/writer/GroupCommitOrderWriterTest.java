@@ -0,0 +1,189 @@
+package com.github.marcelldechant.bistro.order.writer;
+
+import com.github.marcelldechant.bistro.order.entity.Order;
+import com.github.marcelldechant.bistro.order.exception.OrderCommitTimeoutException;
+import com.github.marcelldechant.bistro.order.exception.OrderQueueFullException;
+import com.github.marcelldechant.bistro.order.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+class GroupCommitOrderWriterTest {
+    private final OrderRepository orderRepository = Mockito.mock(OrderRepository.class);
+    private final TransactionTemplate transactionTemplate =
+            new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private GroupCommitOrderWriter writer;
+
+    @AfterEach
+    void stopWriter() throws InterruptedException {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void write_shouldCommitConcurrentOrdersInGroups_andReturnEachSavedOrder() throws Exception {
+        AtomicLong ids = new AtomicLong();
+        List<Integer> groupSizes = new CopyOnWriteArrayList<>();
+        when(orderRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            groupSizes.add(orders.size());
+            orders.forEach(order -> order.setId(ids.incrementAndGet()));
+            return orders;
+        });
+        writer = startWriter(5, Duration.ofMillis(200), 100);
+
+        List<Future<Order>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int table = 1; table <= 12; table++) {
+                Order order = Order.builder().tableNumber(table).items(List.of()).build();
+                results.add(executor.submit(() -> writer.write(order)));
+            }
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            Order saved = results.get(i).get();
+            assertThat(saved.getId()).isNotNull();
+            assertThat(saved.getTableNumber()).isEqualTo(i + 1);
+        }
+        assertThat(groupSizes).allMatch(size -> size <= 5);
+        assertThat(groupSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(12);
+        assertThat(groupSizes.size()).isLessThan(12);
+        assertThat(meterRegistry.get("bistro.order.group.commit.size").summary().totalAmount()).isEqualTo(12);
+    }
+
+    @Test
+    void write_shouldPropagateCommitFailure_toEveryOrderOfTheGroup() {
+        when(orderRepository.saveAll(Mockito.anyList())).thenThrow(new IllegalStateException("database down"));
+        writer = startWriter(10, Duration.ofMillis(5), 100);
+
+        Order order = Order.builder().tableNumber(1).items(List.of()).build();
+
+        assertThatThrownBy(() -> writer.write(order))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("database down");
+    }
+
+    @Test
+    void write_shouldRetryFailedGroupOrderByOrder_andFailOnlyTheBadOrder() throws Exception {
+        AtomicLong ids = new AtomicLong();
+        List<Long> idsBeforeRetry = new CopyOnWriteArrayList<>();
+        when(orderRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            orders.forEach(order -> order.setId(ids.incrementAndGet()));
+            if (orders.stream().anyMatch(order -> order.getTableNumber() == 13)) {
+                throw new IllegalStateException("constraint violated");
+            }
+            return orders;
+        });
+        when(orderRepository.save(Mockito.any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            idsBeforeRetry.add(order.getId() == null ? 0L : order.getId());
+            if (order.getTableNumber() == 13) {
+                throw new IllegalStateException("constraint violated");
+            }
+            order.setId(ids.incrementAndGet());
+            return order;
+        });
+        writer = startWriter(10, Duration.ofMillis(200), 100);
+
+        List<Future<Order>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int table = 11; table <= 15; table++) {
+                Order order = Order.builder().tableNumber(table).items(List.of()).build();
+                results.add(executor.submit(() -> writer.write(order)));
+            }
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            Future<Order> result = results.get(i);
+            if (i == 2) {
+                assertThatThrownBy(result::get).hasRootCauseMessage("constraint violated");
+            } else {
+                assertThat(result.get().getId()).isNotNull();
+            }
+        }
+        assertThat(idsBeforeRetry).hasSizeGreaterThan(1).containsOnly(0L);
+    }
+
+    @Test
+    void write_shouldFailWithTimeout_whenCommitIsNotConfirmedInTime() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        writer = new GroupCommitOrderWriter(orderRepository, transactionTemplate, meterRegistry, 10, 10,
+                Duration.ZERO, Duration.ofSeconds(1), Duration.ofMillis(100));
+        writer.start();
+
+        try {
+            assertThatThrownBy(() -> writer.write(Order.builder().tableNumber(1).items(List.of()).build()))
+                    .isInstanceOf(OrderCommitTimeoutException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void write_shouldRejectOrder_afterWriterHasStopped() throws Exception {
+        writer = startWriter(10, Duration.ofMillis(5), 100);
+        writer.stop();
+
+        assertThatThrownBy(() -> writer.write(Order.builder().tableNumber(1).items(List.of()).build()))
+                .isInstanceOf(OrderQueueFullException.class);
+    }
+
+    @Test
+    void write_shouldRejectOrder_whenQueueStaysFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        writer = new GroupCommitOrderWriter(orderRepository, transactionTemplate, meterRegistry, 1, 1,
+                Duration.ZERO, Duration.ofMillis(50), Duration.ofSeconds(10));
+        writer.start();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Order> blocked = executor.submit(() -> writer.write(Order.builder().tableNumber(1).build()));
+            Thread.sleep(100);
+            Future<Order> queued = executor.submit(() -> writer.write(Order.builder().tableNumber(2).build()));
+            Thread.sleep(100);
+
+            assertThatThrownBy(() -> writer.write(Order.builder().tableNumber(3).build()))
+                    .isInstanceOf(OrderQueueFullException.class);
+
+            release.countDown();
+            assertThat(blocked.get().getTableNumber()).isEqualTo(1);
+            assertThat(queued.get().getTableNumber()).isEqualTo(2);
+        }
+    }
+
+    private GroupCommitOrderWriter startWriter(int maxBatchSize, Duration maxDelay, int queueCapacity) {
+        GroupCommitOrderWriter groupCommitOrderWriter = new GroupCommitOrderWriter(orderRepository,
+                transactionTemplate, meterRegistry, queueCapacity, maxBatchSize, maxDelay, Duration.ofSeconds(1),
+                Duration.ofSeconds(10));
+        groupCommitOrderWriter.start();
+        return groupCommitOrderWriter;
+    }
+}
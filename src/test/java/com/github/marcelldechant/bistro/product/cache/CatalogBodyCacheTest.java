@@ -0,0 +1,62 @@
+package com.github.marcelldechant.bistro.product.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.marcelldechant.bistro.product.cache.CatalogBodyCache.CatalogBody;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogBodyCacheTest {
+    private final CatalogBodyCache catalogBodyCache = new CatalogBodyCache(new ObjectMapper());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_shouldRenderCatalogOnce_whenVersionIsUnchanged() {
+        CatalogBody first = catalogBodyCache.get(this::loadCatalog);
+        CatalogBody second = catalogBodyCache.get(this::loadCatalog);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(new String(first.json(), StandardCharsets.UTF_8)).isEqualTo("[\"cola\"]");
+        assertThat(first.eTag()).startsWith("\"").endsWith("-0\"");
+    }
+
+    @Test
+    void get_shouldRenderNewBodyWithNewETag_whenCatalogChanged() {
+        CatalogBody before = catalogBodyCache.get(this::loadCatalog);
+
+        catalogBodyCache.markChanged();
+        CatalogBody after = catalogBodyCache.get(this::loadCatalog);
+
+        assertThat(after.eTag()).isNotEqualTo(before.eTag());
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void markChanged_shouldBumpVersionOnlyAfterCommit_whenTransactionIsActive() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalogBodyCache.markChanged();
+            assertThat(catalogBodyCache.version()).isZero();
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(catalogBodyCache.version()).isEqualTo(1);
+    }
+
+    private List<String> loadCatalog() {
+        loads.incrementAndGet();
+        return List.of("cola");
+    }
+}
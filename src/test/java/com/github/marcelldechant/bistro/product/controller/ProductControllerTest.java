@@ -2,28 +2,43 @@ package com.github.marcelldechant.bistro.product.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.github.marcelldechant.bistro.exception.dto.CustomApiErrorResponseDto;
+import com.github.marcelldechant.bistro.product.dto.CreateProductDto;
 import com.github.marcelldechant.bistro.product.dto.ProductResponseDto;
+import com.github.marcelldechant.bistro.product.repository.ProductRepository;
+import com.github.marcelldechant.bistro.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class ProductControllerTest {
     @Autowired
@@ -32,6 +47,20 @@ class ProductControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    /*
+     * The CSV import runs asynchronously on the poller thread, so wait until the catalog has been persisted.
+     */
+    @BeforeEach
+    void awaitCsvImport() {
+        await().atMost(Duration.ofSeconds(10)).until(() -> productRepository.count() == 7);
+    }
+
     @Test
     void getAllProducts_returnsOkAndProductList() throws Exception {
         String productsResponseJson = mockMvc.perform(get("/api/v1/products"))
@@ -58,6 +87,129 @@ class ProductControllerTest {
                 );
     }
 
+    @Test
+    void getAllProducts_returnsNotModified_whenETagStillMatches() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/products"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String body = mockMvc.perform(get("/api/v1/products").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(eTag).startsWith("\"").doesNotStartWith("W/");
+        assertThat(body).isEmpty();
+    }
+
+    @Test
+    void getAllProducts_returnsCborCatalogWithOwnETag_whenCborIsAccepted() throws Exception {
+        String jsonETag = mockMvc.perform(get("/api/v1/products"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/v1/products").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andReturn().getResponse();
+        String cborETag = response.getHeader(HttpHeaders.ETAG);
+
+        List<ProductResponseDto> products = new CBORMapper().readValue(response.getContentAsByteArray(),
+                new TypeReference<>() {
+                });
+        assertThat(products).hasSize(7).first().extracting(ProductResponseDto::name).isEqualTo("cola");
+        assertThat(cborETag).isNotEqualTo(jsonETag).endsWith("-cbor\"");
+
+        mockMvc.perform(get("/api/v1/products")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, cborETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getAllProducts_returnsNewCatalogAndETag_whenProductWasWritten() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/products"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        productService.createProduct(new CreateProductDto("tea", new BigDecimal("2.00")));
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/v1/products").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+        assertThat(response.getContentAsString()).contains("\"tea\"");
+    }
+
+    @Test
+    void getAllProducts_returnsRequestedPage_whenPageAndSizeAreGiven() throws Exception {
+        String productsResponseJson = mockMvc.perform(get("/api/v1/products").param("page", "1").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<ProductResponseDto> products = objectMapper.readValue(productsResponseJson, new TypeReference<>() {
+        });
+
+        assertThat(products)
+                .extracting(ProductResponseDto::id, ProductResponseDto::name)
+                .containsExactly(tuple(4L, "sprite"), tuple(5L, "ice"), tuple(6L, "water"));
+    }
+
+    @Test
+    void getAllProducts_returnsProductsAfterId_whenAfterIdIsGiven() throws Exception {
+        String productsResponseJson = mockMvc.perform(get("/api/v1/products").param("afterId", "5").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<ProductResponseDto> products = objectMapper.readValue(productsResponseJson, new TypeReference<>() {
+        });
+
+        assertThat(products)
+                .extracting(ProductResponseDto::id, ProductResponseDto::name)
+                .containsExactly(tuple(6L, "water"), tuple(7L, "sushi"));
+    }
+
+    @Test
+    void getAllProducts_returnsBadRequest_whenPageAndAfterIdAreCombined() throws Exception {
+        String responseContent = mockMvc.perform(get("/api/v1/products").param("page", "0").param("afterId", "5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(responseContent).contains("Parameters page and afterId cannot be combined");
+    }
+
+    @Test
+    void streamAllProducts_returnsNdjsonWithOneProductPerLine() throws Exception {
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/products/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<ProductResponseDto> products = body.lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, ProductResponseDto.class);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+
+        assertThat(products)
+                .hasSize(7)
+                .extracting(ProductResponseDto::id)
+                .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+    }
+
     @Test
     void getProductById_returnsOkAndProduct() throws Exception {
         String productResponseJson = mockMvc.perform(get("/api/v1/products/1"))
@@ -87,4 +239,17 @@ class ProductControllerTest {
                 .extracting(CustomApiErrorResponseDto::message, CustomApiErrorResponseDto::path, CustomApiErrorResponseDto::statusCode)
                 .containsExactly("Product not found with id: " + nonExistentId, "/api/v1/products/" + nonExistentId, 404);
     }
-}
\ No newline at end of file
+
+    @Test
+    void prometheusEndpoint_exposesCsvImportMetrics() throws Exception {
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metrics)
+                .contains("bistro_csv_import_rows_read_total 7")
+                .contains("bistro_csv_import_rows_persisted_total 7")
+                .contains("bistro_csv_import_rows_rejected_total{stage=\"transformer\"} 0")
+                .contains("bistro_csv_import_file_duration_seconds_count 1");
+    }
+}
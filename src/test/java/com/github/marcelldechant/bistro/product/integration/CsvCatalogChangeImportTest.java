@@ -0,0 +1,58 @@
+package com.github.marcelldechant.bistro.product.integration;
+
+import com.github.marcelldechant.bistro.product.dto.CreateProductDto;
+import com.github.marcelldechant.bistro.product.entity.Product;
+import com.github.marcelldechant.bistro.product.repository.ProductRepository;
+import com.github.marcelldechant.bistro.product.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+
+class CsvCatalogChangeImportTest extends CsvImportIntegrationTest {
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @DynamicPropertySource
+    static void csvFiles(DynamicPropertyRegistry registry) throws IOException {
+        Files.write(inputDirectory.resolve("products.csv"), List.of("name,price", "cola,2.50"));
+    }
+
+    @Test
+    void reimport_shouldSeeProductsCreatedThroughTheApi_sinceThePreviousImport() throws IOException {
+        await().atMost(Duration.ofSeconds(20)).until(() -> importedFiles.events().size() == 1);
+        productService.createProduct(new CreateProductDto("sushi", new BigDecimal("9.00")));
+
+        Path file = inputDirectory.resolve("products.csv");
+        Files.write(file, List.of("name,price", "cola,2.50", "sushi,9.00", "pizza,6.00"));
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+
+        await().atMost(Duration.ofSeconds(20)).until(() -> importedFiles.events().size() == 2);
+
+        assertThat(importedFiles.events().getLast())
+                .extracting(CsvFileImportedEvent::persistedRows, CsvFileImportedEvent::unchangedRows)
+                .containsExactly(1L, 2L);
+        assertThat(productRepository.findAll())
+                .extracting(Product::getName, product -> product.getPrice().toPlainString())
+                .containsExactlyInAnyOrder(
+                        tuple("cola", "2.50"),
+                        tuple("sushi", "9.00"),
+                        tuple("pizza", "6.00"));
+    }
+}
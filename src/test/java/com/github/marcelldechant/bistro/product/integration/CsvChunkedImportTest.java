@@ -0,0 +1,49 @@
+package com.github.marcelldechant.bistro.product.integration;
+
+import com.github.marcelldechant.bistro.product.entity.Product;
+import com.github.marcelldechant.bistro.product.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+
+@TestPropertySource(properties = "csv.import.chunk-size=2")
+class CsvChunkedImportTest extends CsvImportIntegrationTest {
+    @Autowired
+    private ProductRepository productRepository;
+
+    @DynamicPropertySource
+    static void csvFiles(DynamicPropertyRegistry registry) throws IOException {
+        Files.write(inputDirectory.resolve("products.csv"), List.of(
+                "name,price",
+                "cola,2.50",
+                "water",
+                "pizza,6.00",
+                "burger,not-a-price",
+                "fries,3.00"
+        ));
+    }
+
+    @Test
+    void import_shouldFlushTheLastPartialChunk_whenTheFileContainsRejectedLines() {
+        await().atMost(Duration.ofSeconds(20)).until(() -> importedFiles.events().size() == 1);
+
+        assertThat(importedFiles.events())
+                .extracting(CsvFileImportedEvent::persistedRows, CsvFileImportedEvent::rejectedRows)
+                .containsExactly(tuple(3L, 2L));
+        assertThat(productRepository.findAll())
+                .extracting(Product::getName)
+                .containsExactlyInAnyOrder("cola", "pizza", "fries");
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.marcelldechant.bistro.product.integration;
+
+import com.github.marcelldechant.bistro.product.entity.Product;
+import com.github.marcelldechant.bistro.product.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+
+@TestPropertySource(properties = "csv.import.chunk-size=2")
+class CsvDeltaImportTest extends CsvImportIntegrationTest {
+    @Autowired
+    private ProductRepository productRepository;
+
+    @DynamicPropertySource
+    static void csvFiles(DynamicPropertyRegistry registry) throws IOException {
+        Files.write(inputDirectory.resolve("products.csv"), List.of(
+                "name,price",
+                "cola,2.50",
+                "pizza,6.00",
+                "burger,7.00"
+        ));
+    }
+
+    @Test
+    void reimport_shouldInsertNewAndUpdateChangedProducts_andSkipUnchangedRows() throws IOException {
+        await().atMost(Duration.ofSeconds(20)).until(() -> importedFiles.events().size() == 1);
+        List<Long> idsAfterFirstImport = productRepository.findAll().stream().map(Product::getId).toList();
+
+        Path file = inputDirectory.resolve("products.csv");
+        Files.write(file, List.of(
+                "name,price",
+                "cola,2.50",
+                "pizza,6.50",
+                "burger,7.00",
+                "sushi,9.00",
+                "sushi,9.50"
+        ));
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+
+        await().atMost(Duration.ofSeconds(20)).until(() -> importedFiles.events().size() == 2);
+
+        assertThat(importedFiles.events())
+                .extracting(CsvFileImportedEvent::persistedRows, CsvFileImportedEvent::unchangedRows)
+                .containsExactly(tuple(3L, 0L), tuple(3L, 2L));
+        assertThat(productRepository.findAll())
+                .extracting(Product::getName, product -> product.getPrice().toPlainString())
+                .containsExactlyInAnyOrder(
+                        tuple("cola", "2.50"),
+                        tuple("pizza", "6.50"),
+                        tuple("burger", "7.00"),
+                        tuple("sushi", "9.50"));
+        assertThat(productRepository.findAll())
+                .extracting(Product::getId)
+                .containsAll(idsAfterFirstImport);
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.marcelldechant.bistro.product.integration;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/*
+ * Shared setup of the CSV import tests: every test class gets its own input directory, written by the subclass in a
+ * @DynamicPropertySource method before the context starts polling, and a context that is discarded afterwards.
+ */
+@SpringBootTest
+@Import(CsvImportIntegrationTest.ImportedFiles.class)
+@DirtiesContext
+abstract class CsvImportIntegrationTest {
+    @TempDir
+    static Path inputDirectory;
+
+    @Autowired
+    ImportedFiles importedFiles;
+
+    @DynamicPropertySource
+    static void csvInputDirectory(DynamicPropertyRegistry registry) {
+        registry.add("csv.input-directory", inputDirectory::toString);
+    }
+
+    /*
+     * Completion events are published on the import worker threads, which ApplicationEvents does not record.
+     */
+    @TestComponent
+    static class ImportedFiles {
+        private final List<CsvFileImportedEvent> events = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        void onFileImported(CsvFileImportedEvent event) {
+            events.add(event);
+        }
+
+        List<CsvFileImportedEvent> events() {
+            return events;
+        }
+    }
+}
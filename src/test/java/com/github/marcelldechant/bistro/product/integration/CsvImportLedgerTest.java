@@ -0,0 +1,100 @@
+package com.github.marcelldechant.bistro.product.integration;
+
+import com.github.marcelldechant.bistro.product.entity.ImportedCsvFile;
+import com.github.marcelldechant.bistro.product.repository.ImportedCsvFileRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class CsvImportLedgerTest {
+    private final ImportedCsvFileRepository repository = Mockito.mock(ImportedCsvFileRepository.class);
+    private final CsvImportLedger ledger = new CsvImportLedger(repository);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void filterFiles_shouldSkipFile_whenItMatchesTheLastCompletedImport() throws IOException {
+        File file = csv("products.csv", "name,price\ncola,2.50\n");
+        when(repository.findById("products.csv")).thenReturn(Optional.of(
+                new ImportedCsvFile("products.csv", file.lastModified(), file.length(), Instant.now())));
+
+        assertThat(ledger.filterFiles(new File[]{file})).isEmpty();
+    }
+
+    @Test
+    void filterFiles_shouldAcceptFile_whenItChangedSinceTheLastCompletedImport() throws IOException {
+        File file = csv("products.csv", "name,price\ncola,2.50\n");
+        when(repository.findById("products.csv")).thenReturn(Optional.of(
+                new ImportedCsvFile("products.csv", file.lastModified() - 1000, file.length(), Instant.now())));
+
+        assertThat(ledger.filterFiles(new File[]{file})).containsExactly(file);
+    }
+
+    @Test
+    void filterFiles_shouldAcceptFileOnce_untilItIsModifiedAgain() throws IOException {
+        File file = csv("products.csv", "name,price\ncola,2.50\n");
+        when(repository.findById("products.csv")).thenReturn(Optional.empty());
+
+        assertThat(ledger.filterFiles(new File[]{file})).containsExactly(file);
+        assertThat(ledger.filterFiles(new File[]{file})).isEmpty();
+
+        Files.setLastModifiedTime(file.toPath(), FileTime.from(Instant.now().plusSeconds(60)));
+
+        assertThat(ledger.filterFiles(new File[]{file})).containsExactly(file);
+    }
+
+    @Test
+    void filterFiles_shouldAcceptFileAgain_whenItsImportFailed() throws IOException {
+        File file = csv("products.csv", "name,price\ncola,2.50\n");
+        when(repository.findById("products.csv")).thenReturn(Optional.empty());
+
+        assertThat(ledger.filterFiles(new File[]{file})).containsExactly(file);
+
+        ledger.recordFailed("products.csv", CsvImportLedger.Fingerprint.of(file));
+
+        assertThat(ledger.filterFiles(new File[]{file})).containsExactly(file);
+    }
+
+    @Test
+    void recordFailed_shouldKeepNewerFingerprint_whenTheFileWasAcceptedAgainMeanwhile() throws IOException {
+        File file = csv("products.csv", "name,price\ncola,2.50\n");
+        when(repository.findById("products.csv")).thenReturn(Optional.empty());
+        CsvImportLedger.Fingerprint failed = CsvImportLedger.Fingerprint.of(file);
+        ledger.filterFiles(new File[]{file});
+
+        Files.setLastModifiedTime(file.toPath(), FileTime.from(Instant.now().plusSeconds(60)));
+        assertThat(ledger.filterFiles(new File[]{file})).containsExactly(file);
+
+        ledger.recordFailed("products.csv", failed);
+
+        assertThat(ledger.filterFiles(new File[]{file})).isEmpty();
+    }
+
+    @Test
+    void recordImported_shouldStoreTheFingerprintTheImportStartedWith() {
+        ledger.recordImported("products.csv", new CsvImportLedger.Fingerprint(1234L, 56L));
+
+        ArgumentCaptor<ImportedCsvFile> captor = ArgumentCaptor.forClass(ImportedCsvFile.class);
+        Mockito.verify(repository).save(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(ImportedCsvFile::getFileName, ImportedCsvFile::getLastModified, ImportedCsvFile::getSize)
+                .containsExactly("products.csv", 1234L, 56L);
+    }
+
+    private File csv(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content).toFile();
+    }
+}
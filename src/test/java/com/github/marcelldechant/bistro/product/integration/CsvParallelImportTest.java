@@ -0,0 +1,81 @@
+package com.github.marcelldechant.bistro.product.integration;
+
+import com.github.marcelldechant.bistro.product.entity.Product;
+import com.github.marcelldechant.bistro.product.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+
+@TestPropertySource(properties = {
+        "csv.import.chunk-size=3",
+        "csv.import.parallelism=3",
+        "csv.import.max-in-flight-files=3"
+})
+class CsvParallelImportTest extends CsvImportIntegrationTest {
+    private static final int FILES = 4;
+    private static final int ROWS_PER_FILE = 10;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @DynamicPropertySource
+    static void csvFiles(DynamicPropertyRegistry registry) throws IOException {
+        for (int file = 0; file < FILES; file++) {
+            List<String> lines = new ArrayList<>();
+            lines.add("name,price");
+            for (int row = 0; row < ROWS_PER_FILE; row++) {
+                lines.add(productName(file, row) + "," + (row + 1) + ".50");
+            }
+            lines.add("broken-" + file + ",not-a-price");
+            Files.write(inputDirectory.resolve("menu-" + file + ".csv"), lines);
+        }
+    }
+
+    @Test
+    void import_shouldPersistAllFiles_keepRowOrderPerFile_andPublishCompletionEvents() {
+        await().atMost(Duration.ofSeconds(20))
+                .until(() -> importedFiles.events().size() == FILES);
+
+        assertThat(importedFiles.events())
+                .extracting(CsvFileImportedEvent::fileName, CsvFileImportedEvent::persistedRows,
+                        CsvFileImportedEvent::rejectedRows)
+                .containsExactlyInAnyOrderElementsOf(IntStream.range(0, FILES)
+                        .mapToObj(file -> tuple("menu-" + file + ".csv",
+                                (long) ROWS_PER_FILE, 1L))
+                        .toList());
+
+        List<Product> products = productRepository.findAll();
+        assertThat(products).hasSize(FILES * ROWS_PER_FILE);
+        for (int file = 0; file < FILES; file++) {
+            String prefix = "file" + file + "-";
+            List<String> namesInIdOrder = products.stream()
+                    .filter(product -> product.getName().startsWith(prefix))
+                    .sorted(Comparator.comparing(Product::getId))
+                    .map(Product::getName)
+                    .toList();
+            int currentFile = file;
+            assertThat(namesInIdOrder).containsExactlyElementsOf(IntStream.range(0, ROWS_PER_FILE)
+                    .mapToObj(row -> productName(currentFile, row))
+                    .toList());
+        }
+    }
+
+    private static String productName(int file, int row) {
+        return "file" + file + "-item" + String.format("%02d", row);
+    }
+}
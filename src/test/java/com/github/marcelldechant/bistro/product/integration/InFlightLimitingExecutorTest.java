@@ -0,0 +1,54 @@
+package com.github.marcelldechant.bistro.product.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class InFlightLimitingExecutorTest {
+    @Test
+    void execute_shouldBlockSubmitter_whenMaxInFlightTasksAreRunning() throws Exception {
+        InFlightLimitingExecutor executor = new InFlightLimitingExecutor(new SimpleAsyncTaskExecutor(), 2);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blockingTask = () -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        executor.execute(blockingTask);
+        executor.execute(blockingTask);
+        Thread submitter = Thread.ofVirtual().start(() -> executor.execute(() -> {
+        }));
+
+        Thread.sleep(100);
+        assertThat(submitter.isAlive()).isTrue();
+        assertThat(executor.availablePermits()).isZero();
+
+        release.countDown();
+        submitter.join(Duration.ofSeconds(10));
+
+        assertThat(submitter.isAlive()).isFalse();
+        await().atMost(Duration.ofSeconds(10)).until(() -> executor.availablePermits() == 2);
+    }
+
+    @Test
+    void execute_shouldReleasePermit_whenTaskFails() {
+        InFlightLimitingExecutor executor = new InFlightLimitingExecutor(new SimpleAsyncTaskExecutor(), 1);
+
+        executor.execute(() -> {
+            throw new IllegalStateException("broken file");
+        });
+
+        await().dontCatchUncaughtExceptions()
+                .atMost(Duration.ofSeconds(10))
+                .until(() -> executor.availablePermits() == 1);
+    }
+}
@@ -1,18 +1,31 @@
 package com.github.marcelldechant.bistro.product.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.marcelldechant.bistro.product.cache.CatalogBodyCache;
+import com.github.marcelldechant.bistro.product.cache.ProductCache;
 import com.github.marcelldechant.bistro.product.dto.CreateProductDto;
+import com.github.marcelldechant.bistro.product.dto.ProductCacheStatsDto;
 import com.github.marcelldechant.bistro.product.dto.ProductResponseDto;
 import com.github.marcelldechant.bistro.product.entity.Product;
+import com.github.marcelldechant.bistro.product.exception.PaginationException;
+import com.github.marcelldechant.bistro.product.exception.ProductAlreadyExistsException;
 import com.github.marcelldechant.bistro.product.exception.ProductNotFoundException;
 import com.github.marcelldechant.bistro.product.repository.ProductRepository;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,7 +34,9 @@ import static org.mockito.Mockito.when;
 
 class ProductServiceTest {
     private final ProductRepository productRepository = Mockito.mock(ProductRepository.class);
-    private final ProductService productService = new ProductService(productRepository);
+    private final ProductCache productCache = new ProductCache(100, Duration.ofMinutes(10));
+    private final ProductService productService = new ProductService(productRepository, productCache,
+            new CatalogBodyCache(new ObjectMapper()));
 
     @BeforeEach
     void cleanDatabase() {
@@ -77,6 +92,33 @@ class ProductServiceTest {
                 });
     }
 
+    @Test
+    void getProducts_expectFullCatalog_whenNoPaginationParametersAreGiven() {
+        when(productRepository.findAll()).thenReturn(List.of(new Product(1L, "Coffee", BigDecimal.valueOf(2.50))));
+
+        assertThat(productService.getProducts(null, null, null)).hasSize(1);
+        Mockito.verify(productRepository).findAll();
+    }
+
+    @Test
+    void getProducts_expectKeysetQuery_whenAfterIdIsGiven() {
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(50)))
+                .thenReturn(List.of(new Product(11L, "Tea", BigDecimal.valueOf(1.50))));
+
+        List<ProductResponseDto> actual = productService.getProducts(null, null, 10L);
+
+        assertThat(actual)
+                .extracting(ProductResponseDto::id)
+                .containsExactly(11L);
+    }
+
+    @Test
+    void getProducts_expectPaginationException_whenSizeIsOutOfRange() {
+        assertThatThrownBy(() -> productService.getProducts(0, 0, null))
+                .isInstanceOf(PaginationException.class)
+                .hasMessageContaining("Size must be between 1 and 1000");
+    }
+
     @Test
     void getProductById_expectProductResponseDto_whenProductExistsInDb() {
         long id = 1L;
@@ -141,6 +183,73 @@ class ProductServiceTest {
                 .hasMessageContaining("Product not found with id: " + nonExistentId);
     }
 
+    @Test
+    void getProductsByIds_expectProductsKeyedById_whenAllProductsExistInDb() {
+        List<Product> expected = List.of(
+                new Product(1L, "Coffee", BigDecimal.valueOf(2.50)),
+                new Product(2L, "Tea", BigDecimal.valueOf(1.50))
+        );
+
+        when(productRepository.findAllById(List.of(1L, 2L))).thenReturn(expected);
+        Map<Long, Product> actual = productService.getProductsByIds(List.of(1L, 2L));
+
+        assertThat(actual)
+                .hasSize(2)
+                .containsEntry(1L, expected.get(0))
+                .containsEntry(2L, expected.get(1));
+    }
+
+    @Test
+    void getProductsByIds_expectProductNotFoundException_listingAllMissingIds() {
+        when(productRepository.findAllById(List.of(1L, 98L, 99L)))
+                .thenReturn(List.of(new Product(1L, "Coffee", BigDecimal.valueOf(2.50))));
+
+        assertThatThrownBy(() -> productService.getProductsByIds(List.of(1L, 98L, 99L)))
+                .isInstanceOf(ProductNotFoundException.class)
+                .hasMessageContaining("Products not found with ids: [98, 99]");
+    }
+
+    @Test
+    void getProductById_expectCacheHit_whenProductWasLoadedBefore() {
+        Product expected = new Product(1L, "Coffee", BigDecimal.valueOf(2.50));
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(expected));
+        productService.getProductById(1L);
+        ProductResponseDto actual = productService.getProductById(1L);
+
+        assertThat(actual.name()).isEqualTo("Coffee");
+        Mockito.verify(productRepository, Mockito.times(1)).findById(1L);
+        assertThat(productService.getCatalogCacheStats())
+                .extracting(ProductCacheStatsDto::hitCount, ProductCacheStatsDto::missCount)
+                .containsExactly(1L, 1L);
+    }
+
+    @Test
+    void getProductsByIds_expectOnlyUncachedIdsToBeLoaded() {
+        Product coffee = new Product(1L, "Coffee", BigDecimal.valueOf(2.50));
+        Product tea = new Product(2L, "Tea", BigDecimal.valueOf(1.50));
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(coffee));
+        when(productRepository.findAllById(List.of(2L))).thenReturn(List.of(tea));
+        productService.getProductByIdEntity(1L);
+
+        Map<Long, Product> actual = productService.getProductsByIds(List.of(1L, 2L));
+
+        assertThat(actual).containsOnlyKeys(1L, 2L);
+        Mockito.verify(productRepository).findAllById(List.of(2L));
+    }
+
+    @Test
+    void createProduct_expectProductToBeCached_whenProductIsCreated() {
+        Product saved = new Product(1L, "Coffee", BigDecimal.valueOf(2.50));
+
+        when(productRepository.save(Mockito.any(Product.class))).thenReturn(saved);
+        productService.createProduct(new CreateProductDto("Coffee", BigDecimal.valueOf(2.50)));
+
+        assertThat(productService.getProductByIdEntity(1L)).isSameAs(saved);
+        Mockito.verify(productRepository, Mockito.never()).findById(Mockito.anyLong());
+    }
+
     @Test
     void createProduct_expectProduct_whenProductIsCreated() {
         CreateProductDto createProductDto = new CreateProductDto("Test Product", BigDecimal.valueOf(10.00));
@@ -163,6 +272,83 @@ class ProductServiceTest {
                 });
     }
 
+    @Test
+    void createProduct_shouldThrowException_whenNameAlreadyExists() {
+        when(productRepository.save(Mockito.any(Product.class)))
+                .thenThrow(new DataIntegrityViolationException("Unique index violated"));
+
+        assertThatThrownBy(() -> productService.createProduct(new CreateProductDto("Coffee", BigDecimal.valueOf(2.50))))
+                .isInstanceOf(ProductAlreadyExistsException.class)
+                .hasMessage("Product already exists with name: Coffee");
+    }
+
+    @Test
+    void upsertProducts_expectChangedPricesToBeUpdatedAndCached_andNewProductsInsertedInOneSaveAll() {
+        Product coffee = new Product(1L, "Coffee", BigDecimal.valueOf(2.50));
+        when(productRepository.findByNameIn(Mockito.anyCollection())).thenReturn(List.of(coffee));
+
+        productService.upsertProducts(
+                List.of(new CreateProductDto("Juice", BigDecimal.valueOf(3.00))),
+                Map.of("Coffee", BigDecimal.valueOf(2.80)));
+
+        ArgumentCaptor<List<Product>> captor = ArgumentCaptor.captor();
+        Mockito.verify(productRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(Product::getName).containsExactly("Juice");
+        assertThat(coffee.getPrice()).isEqualByComparingTo("2.80");
+        assertThat(productService.getProductByIdEntity(1L).getPrice()).isEqualByComparingTo("2.80");
+        Mockito.verify(productRepository, Mockito.never()).findById(Mockito.anyLong());
+    }
+
+    @Test
+    void upsertProducts_shouldCacheUpdatedPricesOnlyAfterCommit_whenTransactionIsActive() {
+        Product coffee = new Product(1L, "Coffee", BigDecimal.valueOf(2.50));
+        when(productRepository.findByNameIn(Mockito.anyCollection())).thenReturn(List.of(coffee));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            productService.upsertProducts(List.of(), Map.of("Coffee", BigDecimal.valueOf(2.80)));
+            assertThat(productCache.get(1L)).isEmpty();
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(productCache.get(1L)).hasValueSatisfying(product ->
+                assertThat(product.getPrice()).isEqualByComparingTo("2.80"));
+    }
+
+    @Test
+    void upsertProducts_shouldNotQueryByName_whenThereAreNoPriceUpdates() {
+        productService.upsertProducts(List.of(new CreateProductDto("Juice", BigDecimal.valueOf(3.00))), Map.of());
+
+        Mockito.verify(productRepository, Mockito.never()).findByNameIn(Mockito.anyCollection());
+    }
+
+    @Test
+    void upsertProducts_shouldKeepCatalogETag_whenNothingChanged() {
+        when(productRepository.findAll()).thenReturn(List.of(new Product(1L, "Coffee", BigDecimal.valueOf(2.50))));
+        String eTag = productService.getCatalog().eTag();
+
+        productService.upsertProducts(List.of(), Map.of());
+
+        assertThat(productService.getCatalog().eTag()).isEqualTo(eTag);
+        Mockito.verify(productRepository, Mockito.never()).saveAll(Mockito.anyList());
+    }
+
+    @Test
+    void upsertProducts_shouldChangeCatalogETag_whenProductsWereWritten() {
+        when(productRepository.findAll()).thenReturn(List.of(new Product(1L, "Coffee", BigDecimal.valueOf(2.50))));
+        String eTag = productService.getCatalog().eTag();
+
+        productService.upsertProducts(List.of(new CreateProductDto("Juice", BigDecimal.valueOf(3.00))), Map.of());
+
+        assertThat(productService.getCatalog().eTag()).isNotEqualTo(eTag);
+        Mockito.verify(productRepository, Mockito.times(2)).findAll();
+    }
+
     @Test
     void createProduct_shouldThrowException_whenNameIsBlank() {
         CreateProductDto dto = new CreateProductDto(" ", BigDecimal.valueOf(5.00));
@@ -0,0 +1,66 @@
+package com.github.marcelldechant.bistro.threading;
+
+import com.github.marcelldechant.bistro.product.integration.CsvFileImportedEvent;
+import com.github.marcelldechant.bistro.product.repository.ProductRepository;
+import com.github.marcelldechant.bistro.threading.monitor.VirtualThreadPinningMonitor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+@Import(VirtualThreadsTest.ImportThreads.class)
+@DirtiesContext
+class VirtualThreadsTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ImportThreads importThreads;
+
+    @Test
+    void virtualThreads_shouldDrivePollerAndStartPinningMonitor_whenEnabled() {
+        TaskScheduler taskScheduler = applicationContext.getBean("taskScheduler", TaskScheduler.class);
+
+        assertThat(taskScheduler).isInstanceOf(SimpleAsyncTaskScheduler.class);
+        assertThat(applicationContext.getBeansOfType(VirtualThreadPinningMonitor.class)).hasSize(1);
+        await().atMost(Duration.ofSeconds(10)).until(() -> productRepository.count() == 7);
+    }
+
+    @Test
+    void virtualThreads_shouldRunCsvImportWorkers_whenEnabled() {
+        await().atMost(Duration.ofSeconds(10)).until(() -> !importThreads.virtual().isEmpty());
+
+        assertThat(importThreads.virtual()).containsOnly(true);
+    }
+
+    @TestComponent
+    static class ImportThreads {
+        private final List<Boolean> virtual = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        void onFileImported(CsvFileImportedEvent event) {
+            virtual.add(Thread.currentThread().isVirtual());
+        }
+
+        List<Boolean> virtual() {
+            return virtual;
+        }
+    }
+}
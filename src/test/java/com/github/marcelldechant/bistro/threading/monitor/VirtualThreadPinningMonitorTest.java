@@ -0,0 +1,40 @@
+package com.github.marcelldechant.bistro.threading.monitor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class VirtualThreadPinningMonitorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(10));
+
+    @AfterEach
+    void stopMonitor() {
+        monitor.stop();
+    }
+
+    @Test
+    void start_shouldRecordPinnedVirtualThread_whenBlockingInsideSynchronized() throws Exception {
+        monitor.start();
+        Object lock = new Object();
+
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(meterRegistry.get("bistro.virtual.threads.pinned").timer().count())
+                        .isGreaterThanOrEqualTo(1));
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.marcelldechant.bistro.web;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiMediaTypesTest {
+    @ParameterizedTest
+    @NullAndEmptySource
+    void preferredObjectMediaType_shouldReturnJson_whenAcceptHeaderIsMissing(String accept) {
+        assertThat(ApiMediaTypes.preferredObjectMediaType(accept)).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "*/*                                                   | application/json",
+            "application/*                                         | application/json",
+            "application/json                                      | application/json",
+            "application/cbor                                      | application/cbor",
+            "application/x-jackson-smile                           | application/x-jackson-smile",
+            "application/json;q=0.5, application/cbor              | application/cbor",
+            "application/cbor;q=0.2, application/x-jackson-smile   | application/x-jackson-smile",
+            "application/cbor;q=0, */*;q=0.1                       | application/json",
+            "not a media type                                      | application/json"
+    })
+    void preferredObjectMediaType_shouldHonourQualityAndOrder_whenAcceptHeaderIsGiven(String accept, String expected) {
+        assertThat(ApiMediaTypes.preferredObjectMediaType(accept)).isEqualTo(MediaType.parseMediaType(expected));
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.marcelldechant.bistro.web;
+
+import com.github.marcelldechant.bistro.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/*
+ * Compression happens in the embedded server, so these requests go over a real connection instead of MockMvc. The
+ * threshold is lowered to fit the small test catalog.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server.compression.min-response-size=128")
+@DirtiesContext
+class ResponseCompressionIntegrationTest {
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void awaitCsvImport() {
+        await().atMost(Duration.ofSeconds(10)).until(() -> productRepository.count() == 7);
+    }
+
+    @Test
+    void getAllProducts_returnsPrecompressedCatalogWithOwnETag_whenClientAcceptsGzip() throws Exception {
+        HttpResponse<byte[]> plain = get("/api/v1/products", MediaType.APPLICATION_JSON_VALUE, null);
+        HttpResponse<byte[]> gzipped = get("/api/v1/products", MediaType.APPLICATION_JSON_VALUE, "gzip, deflate");
+
+        assertThat(plain.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(gzipped.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(gzipped.headers().firstValue(HttpHeaders.ETAG))
+                .isNotEqualTo(plain.headers().firstValue(HttpHeaders.ETAG))
+                .hasValueSatisfying(eTag -> assertThat(eTag).endsWith("-gzip\""));
+        assertThat(gunzip(gzipped.body())).isEqualTo(plain.body());
+    }
+
+    @Test
+    void getAllProducts_returnsGzippedCbor_whenClientAcceptsCborAndGzip() throws Exception {
+        HttpResponse<byte[]> catalog = get("/api/v1/products", MediaType.APPLICATION_CBOR_VALUE, "gzip");
+        HttpResponse<byte[]> page = get("/api/v1/products?page=0&size=7", MediaType.APPLICATION_CBOR_VALUE, "gzip");
+
+        assertThat(catalog.headers().firstValue(HttpHeaders.CONTENT_TYPE)).hasValue(MediaType.APPLICATION_CBOR_VALUE);
+        assertThat(catalog.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(catalog.headers().firstValue(HttpHeaders.ETAG))
+                .hasValueSatisfying(eTag -> assertThat(eTag).endsWith("-cbor-gzip\""));
+        assertThat(page.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(new String(gunzip(page.body()), StandardCharsets.UTF_8)).contains("cola");
+    }
+
+    @Test
+    void streamAllProducts_isNotCompressed_soLinesAreFlushedAsTheyAreWritten() throws Exception {
+        HttpResponse<byte[]> stream = get("/api/v1/products/stream", MediaType.APPLICATION_NDJSON_VALUE, "gzip");
+
+        assertThat(stream.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(new String(stream.body(), StandardCharsets.UTF_8).lines()).hasSize(7);
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT, accept);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws Exception {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return gzip.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.marcelldechant.bistro.web;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCompressionTest {
+    private final ResponseCompression responseCompression = new ResponseCompression(serverProperties(true));
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "2048 | gzip                  | true",
+            "4096 | deflate, gzip;q=0.5   | true",
+            "2047 | gzip                  | false",
+            "4096 | gzip;q=0              | false",
+            "4096 | br                    | false",
+            "4096 |                       | false"
+    })
+    void shouldGzip_shouldRequireThresholdAndAcceptedEncoding(int contentLength, String acceptEncoding,
+                                                              boolean expected) {
+        assertThat(responseCompression.shouldGzip(contentLength, acceptEncoding)).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldGzip_shouldReturnFalse_whenCompressionIsDisabled() {
+        ResponseCompression disabled = new ResponseCompression(serverProperties(false));
+
+        assertThat(disabled.shouldGzip(1_000_000, "gzip")).isFalse();
+    }
+
+    @Test
+    void gzip_shouldProduceDecompressibleBody() throws Exception {
+        byte[] body = "[{\"id\":1,\"name\":\"cola\",\"price\":2.50}]".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        byte[] compressed = ResponseCompression.gzip(body);
+
+        assertThat(compressed.length).isLessThan(body.length);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(body);
+        }
+    }
+
+    private static ServerProperties serverProperties(boolean enabled) {
+        ServerProperties serverProperties = new ServerProperties();
+        serverProperties.getCompression().setEnabled(enabled);
+        serverProperties.getCompression().setMinResponseSize(DataSize.ofKilobytes(2));
+        return serverProperties;
+    }
+}